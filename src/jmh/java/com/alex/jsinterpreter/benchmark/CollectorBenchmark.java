@@ -0,0 +1,63 @@
+package com.alex.jsinterpreter.benchmark;
+
+import com.alex.jsinterpreter.logic.JSMember;
+import com.alex.jsinterpreter.logic.collector.JSCodeCollectionCollector;
+import com.alex.jsinterpreter.logic.collector.JSCodeOutputSink;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark of capturing console.log arguments by {@link JSCodeCollectionCollector} into output sink, allocation
+ * rate is reported with gc profiler
+ *
+ * @author Oleksandr Myronenko
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollectorBenchmark {
+    @Param({"1", "100", "10000"})
+    private int logLines;
+    @Param({"16", "256"})
+    private int lineLength;
+    @Param({"string", "number", "object"})
+    private String valueType;
+    private JSCodePipeline pipeline;
+    private Context context;
+    private Value line;
+
+    @Setup
+    public void setUp() {
+        pipeline = new JSCodePipeline();
+        context = Context.newBuilder(JSMember.JS.getValue()).engine(pipeline.getEngine()).build();
+        line = switch (valueType) {
+            case "number" -> context.asValue(Math.pow(10, Math.min(lineLength, 300)) / 3);
+            case "object" -> context.eval(JSMember.JS.getValue(), "({line: '" + "x".repeat(lineLength) + "'})");
+            default -> context.asValue("x".repeat(lineLength));
+        };
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        context.close();
+        pipeline.close();
+    }
+
+    @Benchmark
+    public JSCodeOutputSink capture() {
+        JSCodeOutputSink outputSink = pipeline.getJsCodeResultHandler()
+                .createOutputSink(pipeline.newJSCode(""));
+        JSCodeCollectionCollector collector = new JSCodeCollectionCollector(outputSink);
+        for (int i = 0; i < logLines; i++) {
+            collector.execute(line);
+        }
+        outputSink.complete();
+        return outputSink;
+    }
+}
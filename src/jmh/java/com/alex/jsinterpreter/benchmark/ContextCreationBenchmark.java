@@ -0,0 +1,48 @@
+package com.alex.jsinterpreter.benchmark;
+
+import com.alex.jsinterpreter.logic.JSMember;
+import org.graalvm.polyglot.Context;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark of creating js context for one execution, new context on shared engine is compared with
+ * context taken from pool
+ *
+ * @author Oleksandr Myronenko
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContextCreationBenchmark {
+    private JSCodePipeline pipeline;
+
+    @Setup
+    public void setUp() {
+        pipeline = new JSCodePipeline();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        pipeline.close();
+    }
+
+    @Benchmark
+    public Context newContext() {
+        Context context = Context.newBuilder(JSMember.JS.getValue()).engine(pipeline.getEngine()).build();
+        context.initialize(JSMember.JS.getValue());
+        context.close();
+        return context;
+    }
+
+    @Benchmark
+    public Context pooledContext() {
+        Context context = pipeline.getJsContextPool().acquire();
+        pipeline.getJsContextPool().release(context);
+        return context;
+    }
+}
@@ -0,0 +1,45 @@
+package com.alex.jsinterpreter.benchmark;
+
+import com.alex.jsinterpreter.document.JSCode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark of whole execution of js code by {@link com.alex.jsinterpreter.logic.job.ExecutorJSCodeJob}:
+ * context acquiring, eval, output capture and state persistence through stubbed repositories
+ *
+ * @author Oleksandr Myronenko
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndToEndBenchmark {
+    @Param({"10", "1000"})
+    private int scriptLines;
+    @Param({"0", "100", "10000"})
+    private int logLines;
+    private JSCodePipeline pipeline;
+    private String scriptBody;
+
+    @Setup
+    public void setUp() {
+        pipeline = new JSCodePipeline();
+        scriptBody = JSScripts.generate(scriptLines, logLines);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        pipeline.close();
+    }
+
+    @Benchmark
+    public JSCode execute() {
+        JSCode jsCode = pipeline.newJSCode(scriptBody);
+        pipeline.getExecutorJSCodeJob().executeJSCode(jsCode);
+        return jsCode;
+    }
+}
@@ -0,0 +1,57 @@
+package com.alex.jsinterpreter.benchmark;
+
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.logic.collector.JSCodeOutputSink;
+import org.graalvm.polyglot.Context;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark of evaluating cached source of js code through {@link com.alex.jsinterpreter.logic.handler.JSCodeResultHandler}
+ * without output, context is created outside of measurement
+ *
+ * @author Oleksandr Myronenko
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EvalBenchmark {
+    @Param({"10", "1000", "10000"})
+    private int scriptLines;
+    private JSCodePipeline pipeline;
+    private String scriptBody;
+    private Context context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pipeline = new JSCodePipeline();
+        scriptBody = JSScripts.generate(scriptLines, 0);
+    }
+
+    @Setup(Level.Invocation)
+    public void acquireContext() {
+        context = pipeline.getJsContextPool().acquire();
+    }
+
+    @TearDown(Level.Invocation)
+    public void releaseContext() {
+        pipeline.getJsContextPool().release(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        pipeline.close();
+    }
+
+    @Benchmark
+    public JSCodeOutputSink eval() {
+        JSCode jsCode = pipeline.newJSCode(scriptBody);
+        JSCodeOutputSink outputSink = pipeline.getJsCodeResultHandler().createOutputSink(jsCode);
+        pipeline.getJsCodeResultHandler().executeAndCollectOutput(context, jsCode, outputSink);
+        return outputSink;
+    }
+}
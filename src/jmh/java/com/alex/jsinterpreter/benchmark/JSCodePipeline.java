@@ -0,0 +1,108 @@
+package com.alex.jsinterpreter.benchmark;
+
+import com.alex.jsinterpreter.config.*;
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import com.alex.jsinterpreter.domain.mapper.JSCodeMapper;
+import com.alex.jsinterpreter.domain.mapper.JSCodeMapperImpl;
+import com.alex.jsinterpreter.logic.cache.JSCodeDetailedCache;
+import com.alex.jsinterpreter.logic.cache.JSCodeResultCache;
+import com.alex.jsinterpreter.logic.cache.JSSourceCache;
+import com.alex.jsinterpreter.logic.collector.JSCodeOutputRegistry;
+import com.alex.jsinterpreter.logic.completion.JSCodeCompletionRegistry;
+import com.alex.jsinterpreter.logic.handler.JSCodeResultHandler;
+import com.alex.jsinterpreter.logic.job.ExecutorJSCodeJob;
+import com.alex.jsinterpreter.logic.job.JSExecutionWatchdog;
+import com.alex.jsinterpreter.logic.metrics.JSCodeExecutionMetrics;
+import com.alex.jsinterpreter.logic.persistence.JSCodeWriteBehindQueue;
+import com.alex.jsinterpreter.logic.pool.JSContextPool;
+import com.alex.jsinterpreter.logic.profiler.JSCodeProfiler;
+import com.alex.jsinterpreter.logic.service.JSCodeOutputService;
+import com.alex.jsinterpreter.logic.service.JSCodeService;
+import com.alex.jsinterpreter.repository.JSCodeOutputChunkRepository;
+import com.alex.jsinterpreter.repository.JSCodeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.Getter;
+import org.graalvm.polyglot.Engine;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * class responsible for wiring execution pipeline with default properties and stubbed repositories,
+ * the same way as application context does
+ *
+ * @author Oleksandr Myronenko
+ */
+@Getter
+public class JSCodePipeline implements AutoCloseable {
+    private final AtomicLong jsCodeIds = new AtomicLong();
+    private final Engine engine;
+    private final JSCodeMapper jsCodeMapper;
+    private final JSContextPool jsContextPool;
+    private final JSCodeOutputService jsCodeOutputService;
+    private final JSCodeWriteBehindQueue jsCodeWriteBehindQueue;
+    private final JSCodeResultHandler jsCodeResultHandler;
+    private final JSExecutionWatchdog jsExecutionWatchdog;
+    private final ExecutorJSCodeJob executorJSCodeJob;
+
+    public JSCodePipeline() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JSCodeRepository jsCodeRepository = StubRepositories.of(JSCodeRepository.class);
+        JSOutputProperties outputProperties = new JSOutputProperties(1000, 262144, 1000, 100, 100000,
+                8388608);
+        this.engine = new GraalEngineConfiguration().engine();
+        this.jsCodeMapper = new JSCodeMapperImpl();
+        this.jsContextPool = new JSContextPool(engine, new JSContextPoolProperties(4, Duration.ofMillis(10)),
+                meterRegistry);
+        this.jsContextPool.prewarm();
+        this.jsCodeOutputService = new JSCodeOutputService(StubRepositories.of(JSCodeOutputChunkRepository.class),
+                outputProperties);
+        this.jsCodeWriteBehindQueue = new JSCodeWriteBehindQueue(jsCodeRepository,
+                new JSWriteBehindProperties(10000, 500, Duration.ofMillis(50), Duration.ofSeconds(1)), meterRegistry);
+        JSCodeService jsCodeService = new JSCodeService(jsCodeRepository, jsCodeMapper, jsCodeWriteBehindQueue,
+                jsCodeOutputService, new JSListingProperties(50, 500), new JSCodeResultCache(
+                new JSMemoizationProperties(false, Duration.ofMinutes(10), 1024,
+                        DataSize.ofMegabytes(64)), meterRegistry),
+                new JSCodeDetailedCache(new JSDetailedCacheProperties(false, Duration.ofMinutes(10), 10000,
+                        DataSize.ofMegabytes(64)), meterRegistry));
+        this.jsCodeResultHandler = new JSCodeResultHandler(jsCodeService,
+                new JSSourceCache(new JSSourceCacheProperties(1024), meterRegistry), jsCodeOutputService,
+                outputProperties);
+        this.jsExecutionWatchdog = new JSExecutionWatchdog(new JSExecutionLimitsProperties(Duration.ofSeconds(60),
+                Duration.ofMinutes(10), 0, DataSize.ofBytes(0), Duration.ofMillis(100)), meterRegistry);
+        this.jsExecutionWatchdog.start();
+        this.executorJSCodeJob = new ExecutorJSCodeJob(jsCodeResultHandler, jsContextPool,
+                new JSCodeOutputRegistry(), new JSCodeCompletionRegistry(new JSCompletionProperties(
+                Duration.ofSeconds(30), Duration.ofSeconds(60), 1024)), jsExecutionWatchdog,
+                new JSCodeExecutionMetrics(meterRegistry), new JSCodeProfiler(new JSProfilerProperties(
+                Duration.ofMillis(1), 100, 1000), meterRegistry), new JSAdmissionProperties(1000, 256, false, 8, 1024,
+                Duration.ofSeconds(1), 0.9, Duration.ofSeconds(1)),
+                new JSExecutorProperties(JSExecutorProperties.Type.FIXED, 0, 2), new JSPriorityProperties(32, 4, 1),
+                meterRegistry);
+    }
+
+    /**
+     * using for creating js code with unique id which is already claimed for execution
+     *
+     * @param scriptBody script of js code
+     * @return {@link JSCode}
+     */
+    public JSCode newJSCode(String scriptBody) {
+        JSCode jsCode = new JSCode(JSCodeStatus.EXECUTING, scriptBody, null, Instant.now(), null);
+        jsCode.setJsCodeId(Long.toString(jsCodeIds.incrementAndGet()));
+        return jsCode;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        executorJSCodeJob.shutdown();
+        jsExecutionWatchdog.shutdown();
+        jsCodeWriteBehindQueue.shutdown();
+        jsContextPool.shutdown();
+        engine.close();
+    }
+}
@@ -0,0 +1,31 @@
+package com.alex.jsinterpreter.benchmark;
+
+/**
+ * class responsible for generating scripts of benchmarks
+ *
+ * @author Oleksandr Myronenko
+ */
+final class JSScripts {
+    private JSScripts() {
+    }
+
+    /**
+     * using for generating script with given count of statements in source and count of logged lines
+     *
+     * @param scriptLines count of arithmetic statements in source
+     * @param logLines    count of console.log calls during execution
+     * @return script body
+     */
+    static String generate(int scriptLines, int logLines) {
+        StringBuilder script = new StringBuilder("let value = 0;\n");
+        for (int i = 0; i < scriptLines; i++) {
+            script.append("value = (value + ").append(i).append(") % 7;\n");
+        }
+        if (logLines > 0) {
+            script.append("for (let i = 0; i < ").append(logLines).append("; i++) {\n")
+                    .append("   console.log('line ' + i + ' value ' + value);\n")
+                    .append("}\n");
+        }
+        return script.toString();
+    }
+}
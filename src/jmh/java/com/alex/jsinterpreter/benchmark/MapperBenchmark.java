@@ -0,0 +1,53 @@
+package com.alex.jsinterpreter.benchmark;
+
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import com.alex.jsinterpreter.domain.dto.JSCodeCommonResponse;
+import com.alex.jsinterpreter.domain.dto.JSCodeDetailedResponse;
+import com.alex.jsinterpreter.domain.mapper.JSCodeMapper;
+import com.alex.jsinterpreter.domain.mapper.JSCodeMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark of mapping js code document to responses by {@link JSCodeMapper}
+ *
+ * @author Oleksandr Myronenko
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"0", "100"})
+    private int resultLines;
+    private final JSCodeMapper jsCodeMapper = new JSCodeMapperImpl();
+    private JSCode jsCode;
+
+    @Setup
+    public void setUp() {
+        List<String> scriptResults = new ArrayList<>();
+        for (int i = 0; i < resultLines; i++) {
+            scriptResults.add("line " + i);
+        }
+        jsCode = new JSCode(JSCodeStatus.COMPLETED, JSScripts.generate(10, 10), scriptResults, Instant.now(), 10L);
+        jsCode.setJsCodeId("64b7f0c2e4b0a1a2b3c4d5e6");
+        jsCode.setOutputLineCount((long) resultLines);
+    }
+
+    @Benchmark
+    public JSCodeCommonResponse toCommonResponse() {
+        return jsCodeMapper.documentMapToCommonResponse(jsCode);
+    }
+
+    @Benchmark
+    public JSCodeDetailedResponse toDetailedResponse() {
+        return jsCodeMapper.documentMapToDetailedResponse(jsCode);
+    }
+}
@@ -0,0 +1,58 @@
+package com.alex.jsinterpreter.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * class responsible for creating repositories which do not touch database, so benchmarks measure only
+ * execution pipeline
+ *
+ * @author Oleksandr Myronenko
+ */
+final class StubRepositories {
+    private StubRepositories() {
+    }
+
+    /**
+     * using for creating repository which returns saved entity back and empty results for all queries
+     *
+     * @param repositoryType type of repository
+     * @param <T>            type of repository
+     * @return stub of repository
+     */
+    static <T> T of(Class<T> repositoryType) {
+        return repositoryType.cast(Proxy.newProxyInstance(repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType}, (proxy, method, args) -> {
+                    Class<?> returnType = method.getReturnType();
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.getName().equals("toString") ? repositoryType.getSimpleName() + "Stub"
+                                : method.getName().equals("hashCode") ? System.identityHashCode(proxy)
+                                : proxy == args[0];
+                    }
+                    if (args != null && args.length == 1 && returnType.isInstance(args[0])) {
+                        return args[0];
+                    }
+                    if (returnType == Optional.class) {
+                        return Optional.empty();
+                    }
+                    if (returnType == List.class) {
+                        return List.of();
+                    }
+                    if (returnType == Stream.class) {
+                        return Stream.empty();
+                    }
+                    if (returnType == boolean.class) {
+                        return false;
+                    }
+                    if (returnType == long.class) {
+                        return 0L;
+                    }
+                    if (returnType == int.class) {
+                        return 0;
+                    }
+                    return null;
+                }));
+    }
+}
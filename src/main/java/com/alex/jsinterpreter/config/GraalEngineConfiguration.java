@@ -0,0 +1,28 @@
+package com.alex.jsinterpreter.config;
+
+import org.graalvm.polyglot.Engine;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * configuration of graalvm polyglot engine which is shared between all js contexts. In native image js context
+ * is pre-initialized at build time, so engine and contexts created from image heap skip js bootstrap
+ *
+ * @author Oleksandr Myronenko
+ */
+@Configuration
+@ImportRuntimeHints(JSNativeRuntimeHints.class)
+public class GraalEngineConfiguration {
+    /**
+     * shared engine allows contexts to reuse code cache and skip engine bootstrap on every execution
+     *
+     * @return shared {@link Engine}
+     */
+    @Bean(destroyMethod = "close")
+    public Engine engine() {
+        return Engine.newBuilder()
+                .option("engine.WarnInterpreterOnly", "false")
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.alex.jsinterpreter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * configuration properties of admission of js code executions
+ *
+ * @param queueCapacity  maximum count of executions which wait for free executor thread
+ * @param limit          maximum count of admitted executions which are queued or running, it is initial limit
+ *                       if limit is adaptive
+ * @param adaptive       whether limit is adapted by latency of executions
+ * @param minLimit       minimum adaptive limit
+ * @param maxLimit       maximum adaptive limit
+ * @param targetLatency  latency of execution from admission to finish, limit is decreased when it is exceeded
+ * @param backoffRatio   ratio of decreasing adaptive limit
+ * @param retryAfter     time after which rejected client should retry, rejected dispatch of job is retried
+ *                       after it too
+ * @author Oleksandr Myronenko
+ */
+@ConfigurationProperties(prefix = "js-interpreter.admission")
+public record JSAdmissionProperties(@DefaultValue("1000") int queueCapacity,
+                                    @DefaultValue("256") int limit,
+                                    @DefaultValue("false") boolean adaptive,
+                                    @DefaultValue("8") int minLimit,
+                                    @DefaultValue("1024") int maxLimit,
+                                    @DefaultValue("1s") Duration targetLatency,
+                                    @DefaultValue("0.9") double backoffRatio,
+                                    @DefaultValue("1s") Duration retryAfter) {
+}
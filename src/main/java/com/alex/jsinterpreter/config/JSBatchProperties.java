@@ -0,0 +1,14 @@
+package com.alex.jsinterpreter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * configuration properties of batch submission of js codes
+ *
+ * @param maxSize maximum count of js codes in one batch
+ * @author Oleksandr Myronenko
+ */
+@ConfigurationProperties(prefix = "js-interpreter.batch")
+public record JSBatchProperties(@DefaultValue("1000") int maxSize) {
+}
@@ -0,0 +1,20 @@
+package com.alex.jsinterpreter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * configuration properties of running several application nodes against the same database
+ *
+ * @param nodeId            optional id of this node, unique id is generated if it is empty
+ * @param leaseDuration     time of owning js code by node without heartbeat
+ * @param heartbeatInterval interval of renewing leases and handling stop requests
+ * @author Oleksandr Myronenko
+ */
+@ConfigurationProperties(prefix = "js-interpreter.cluster")
+public record JSClusterProperties(String nodeId,
+                                  @DefaultValue("30s") Duration leaseDuration,
+                                  @DefaultValue("10s") Duration heartbeatInterval) {
+}
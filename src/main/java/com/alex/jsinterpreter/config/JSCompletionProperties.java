@@ -0,0 +1,20 @@
+package com.alex.jsinterpreter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * configuration properties of waiting for completion of submitted js codes
+ *
+ * @param defaultTimeout  time of waiting for completion if client does not set it
+ * @param maxTimeout      maximum time of waiting for completion by one request
+ * @param recentCapacity  count of recently completed js codes which are kept in memory until their state is flushed
+ * @author Oleksandr Myronenko
+ */
+@ConfigurationProperties(prefix = "js-interpreter.completion")
+public record JSCompletionProperties(@DefaultValue("30s") Duration defaultTimeout,
+                                     @DefaultValue("60s") Duration maxTimeout,
+                                     @DefaultValue("1024") int recentCapacity) {
+}
@@ -0,0 +1,18 @@
+package com.alex.jsinterpreter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * configuration properties of pool with pre-warmed js contexts
+ *
+ * @param size    count of pre-warmed contexts which are kept ready for execution
+ * @param maxWait maximum time for waiting a pre-warmed context before creating a new one
+ * @author Oleksandr Myronenko
+ */
+@ConfigurationProperties(prefix = "js-interpreter.context-pool")
+public record JSContextPoolProperties(@DefaultValue("4") int size,
+                                      @DefaultValue("10ms") Duration maxWait) {
+}
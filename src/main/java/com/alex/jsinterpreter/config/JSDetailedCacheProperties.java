@@ -0,0 +1,24 @@
+package com.alex.jsinterpreter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * configuration properties of cache of detailed js codes in terminal status
+ *
+ * @param enabled   boolean value for caching detailed js codes which will not change anymore
+ * @param ttl       time during which cached js code is returned, js code deleted by another node is visible
+ *                  on this node during it
+ * @param maxSize   maximum count of cached js codes, least recently used js code is evicted above it
+ * @param maxWeight maximum estimated size of cached js codes, least recently used js code is evicted above it
+ * @author Oleksandr Myronenko
+ */
+@ConfigurationProperties(prefix = "js-interpreter.detailed-cache")
+public record JSDetailedCacheProperties(@DefaultValue("true") boolean enabled,
+                                        @DefaultValue("10m") Duration ttl,
+                                        @DefaultValue("10000") int maxSize,
+                                        @DefaultValue("64MB") DataSize maxWeight) {
+}
@@ -0,0 +1,25 @@
+package com.alex.jsinterpreter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * configuration properties of budgets of one js code execution, zero value means that budget is not limited
+ *
+ * @param defaultTimeout          wall-clock time of execution if request does not set it
+ * @param maxTimeout              maximum wall-clock time of execution which request can set
+ * @param defaultStatementLimit   count of executed statements if request does not set it
+ * @param defaultAllocationLimit  bytes allocated by execution if request does not set it, garbage is counted too
+ * @param allocationCheckInterval interval of checking allocated bytes of executions
+ * @author Oleksandr Myronenko
+ */
+@ConfigurationProperties(prefix = "js-interpreter.limits")
+public record JSExecutionLimitsProperties(@DefaultValue("60s") Duration defaultTimeout,
+                                          @DefaultValue("10m") Duration maxTimeout,
+                                          @DefaultValue("0") long defaultStatementLimit,
+                                          @DefaultValue("0") DataSize defaultAllocationLimit,
+                                          @DefaultValue("100ms") Duration allocationCheckInterval) {
+}
@@ -0,0 +1,32 @@
+package com.alex.jsinterpreter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * configuration properties of execution pool of js codes
+ *
+ * @param type        type of execution pool
+ * @param parallelism count of threads which execute js codes, count of processors is used if it is not positive
+ * @param queueDepth  count of js codes which are handed to pool besides running ones, they wait in queue of pool
+ *                    and idle thread takes them, other js codes wait in dispatcher queue in weighted fair order
+ * @author Oleksandr Myronenko
+ */
+@ConfigurationProperties(prefix = "js-interpreter.executor")
+public record JSExecutorProperties(@DefaultValue("fixed") Type type,
+                                   @DefaultValue("0") int parallelism,
+                                   @DefaultValue("2") int queueDepth) {
+    /**
+     * type of execution pool
+     */
+    public enum Type {
+        /**
+         * fixed thread pool with one shared queue
+         */
+        FIXED,
+        /**
+         * work-stealing fork join pool, idle thread steals queued js codes of busy ones
+         */
+        FORK_JOIN
+    }
+}
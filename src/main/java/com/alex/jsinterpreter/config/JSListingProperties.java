@@ -0,0 +1,16 @@
+package com.alex.jsinterpreter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * configuration properties of listing js codes
+ *
+ * @param defaultPageSize count of js codes in page if limit is not specified
+ * @param maxPageSize     maximum count of js codes in page
+ * @author Oleksandr Myronenko
+ */
+@ConfigurationProperties(prefix = "js-interpreter.listing")
+public record JSListingProperties(@DefaultValue("50") int defaultPageSize,
+                                  @DefaultValue("500") int maxPageSize) {
+}
@@ -0,0 +1,24 @@
+package com.alex.jsinterpreter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * configuration properties of memoization of js code results
+ *
+ * @param enabled   boolean value for returning memoized results of scripts which are submitted with memoize flag
+ * @param ttl       time during which memoized result is returned
+ * @param maxSize   maximum count of memoized results, least recently used result is evicted above it
+ * @param maxWeight maximum estimated size of memoized results with their output, least recently used result is
+ *                  evicted above it
+ * @author Oleksandr Myronenko
+ */
+@ConfigurationProperties(prefix = "js-interpreter.memoization")
+public record JSMemoizationProperties(@DefaultValue("false") boolean enabled,
+                                      @DefaultValue("10m") Duration ttl,
+                                      @DefaultValue("1024") int maxSize,
+                                      @DefaultValue("64MB") DataSize maxWeight) {
+}
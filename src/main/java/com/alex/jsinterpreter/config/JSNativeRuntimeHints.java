@@ -0,0 +1,34 @@
+package com.alex.jsinterpreter.config;
+
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodeLimits;
+import com.alex.jsinterpreter.document.JSCodeOutputChunk;
+import com.alex.jsinterpreter.document.JSCodePhases;
+import com.alex.jsinterpreter.document.JSCodePriority;
+import com.alex.jsinterpreter.document.JSCodeProfile;
+import com.alex.jsinterpreter.document.JSCodeProfileFunction;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import com.alex.jsinterpreter.logic.collector.JSCodeCollectionCollector;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.stream.Stream;
+
+/**
+ * runtime hints for native image which are not discovered by spring aot processing. Documents are read and
+ * updated by mongo template in custom repositories, collector is called by js code as host object
+ *
+ * @author Oleksandr Myronenko
+ */
+public class JSNativeRuntimeHints implements RuntimeHintsRegistrar {
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        Stream.of(JSCode.class, JSCodeLimits.class, JSCodePhases.class, JSCodeOutputChunk.class, JSCodeStatus.class,
+                        JSCodePriority.class, JSCodeProfile.class, JSCodeProfileFunction.class)
+                .forEach(type -> hints.reflection().registerType(type, MemberCategory.values()));
+        hints.reflection().registerType(TypeReference.of(JSCodeCollectionCollector.class),
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
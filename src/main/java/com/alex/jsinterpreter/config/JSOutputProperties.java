@@ -0,0 +1,25 @@
+package com.alex.jsinterpreter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * configuration properties of chunked storage of js code output
+ *
+ * @param chunkLines   maximum count of lines in one chunk
+ * @param chunkBytes   maximum size of one chunk counted in UTF-8 bytes of lines, longer line is truncated
+ * @param maxPageSize  maximum count of lines returned by one read of output
+ * @param previewLines count of first lines returned together with detailed js code
+ * @param maxLines     maximum count of lines produced by one execution, rest of output is truncated, 0 is unlimited
+ * @param maxBytes     maximum size of output of one execution counted in UTF-8 bytes of lines, rest of output is
+ *                     truncated, 0 is unlimited
+ * @author Oleksandr Myronenko
+ */
+@ConfigurationProperties(prefix = "js-interpreter.output")
+public record JSOutputProperties(@DefaultValue("1000") int chunkLines,
+                                 @DefaultValue("262144") int chunkBytes,
+                                 @DefaultValue("1000") int maxPageSize,
+                                 @DefaultValue("100") int previewLines,
+                                 @DefaultValue("100000") long maxLines,
+                                 @DefaultValue("8388608") long maxBytes) {
+}
@@ -0,0 +1,22 @@
+package com.alex.jsinterpreter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * configuration properties of streaming js code output to clients
+ *
+ * @param timeout       maximum time of keeping stream of output opened
+ * @param queueCapacity maximum count of lines which are waiting for sending to one client, client which does not
+ *                      keep up is disconnected
+ * @param sendTimeout   maximum time of sending one event to client, client which does not receive it in time
+ *                      is disconnected
+ * @author Oleksandr Myronenko
+ */
+@ConfigurationProperties(prefix = "js-interpreter.output-stream")
+public record JSOutputStreamProperties(@DefaultValue("30m") Duration timeout,
+                                       @DefaultValue("10000") int queueCapacity,
+                                       @DefaultValue("10s") Duration sendTimeout) {
+}
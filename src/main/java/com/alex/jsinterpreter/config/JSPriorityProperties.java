@@ -0,0 +1,33 @@
+package com.alex.jsinterpreter.config;
+
+import com.alex.jsinterpreter.document.JSCodePriority;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * configuration properties of weighted fair dispatching of queued js codes
+ *
+ * @param interactiveWeight weight of interactive js codes
+ * @param normalWeight      weight of normal js codes
+ * @param bulkWeight        weight of bulk js codes
+ * @author Oleksandr Myronenko
+ */
+@ConfigurationProperties(prefix = "js-interpreter.priority")
+public record JSPriorityProperties(@DefaultValue("32") int interactiveWeight,
+                                   @DefaultValue("4") int normalWeight,
+                                   @DefaultValue("1") int bulkWeight) {
+    /**
+     * using for getting weight of priority class
+     *
+     * @param priority priority class
+     * @return weight which is at least one
+     */
+    public int getWeight(JSCodePriority priority) {
+        int weight = switch (priority) {
+            case INTERACTIVE -> interactiveWeight;
+            case NORMAL -> normalWeight;
+            case BULK -> bulkWeight;
+        };
+        return Math.max(1, weight);
+    }
+}
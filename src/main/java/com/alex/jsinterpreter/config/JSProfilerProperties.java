@@ -0,0 +1,20 @@
+package com.alex.jsinterpreter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * configuration properties of CPU profiling of js code executions
+ *
+ * @param samplePeriod period of sampling stacks of profiled execution, it is at least one millisecond
+ * @param maxFunctions maximum count of the hottest functions which are stored in profile
+ * @param maxStacks    maximum count of the hottest collapsed stacks which are stored in profile
+ * @author Oleksandr Myronenko
+ */
+@ConfigurationProperties(prefix = "js-interpreter.profiler")
+public record JSProfilerProperties(@DefaultValue("1ms") Duration samplePeriod,
+                                   @DefaultValue("100") int maxFunctions,
+                                   @DefaultValue("1000") int maxStacks) {
+}
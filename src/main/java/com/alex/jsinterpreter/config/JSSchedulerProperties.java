@@ -0,0 +1,24 @@
+package com.alex.jsinterpreter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * configuration properties of persistent scheduler of planned js codes
+ *
+ * @param pollInterval interval of polling database for imminent planned js codes
+ * @param lookahead    time window, planned js codes scheduled inside it are loaded to timing wheel
+ * @param batchSize    maximum count of planned js codes loaded by one poll
+ * @param tickDuration precision of timing wheel
+ * @param wheelSize    count of buckets of timing wheel
+ * @author Oleksandr Myronenko
+ */
+@ConfigurationProperties(prefix = "js-interpreter.scheduler")
+public record JSSchedulerProperties(@DefaultValue("1s") Duration pollInterval,
+                                    @DefaultValue("30s") Duration lookahead,
+                                    @DefaultValue("1000") int batchSize,
+                                    @DefaultValue("10ms") Duration tickDuration,
+                                    @DefaultValue("512") int wheelSize) {
+}
@@ -0,0 +1,23 @@
+package com.alex.jsinterpreter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * configuration properties of sessions which keep js state across executions
+ *
+ * @param maxSessions       maximum count of open sessions on this node
+ * @param idleTimeout       time after last execution when session is closed
+ * @param evictionInterval  interval of checking idle sessions
+ * @param maxAllocatedBytes bytes allocated by all executions of session after which it is closed, 0 is unlimited
+ * @author Oleksandr Myronenko
+ */
+@ConfigurationProperties(prefix = "js-interpreter.session")
+public record JSSessionProperties(@DefaultValue("64") int maxSessions,
+                                  @DefaultValue("10m") Duration idleTimeout,
+                                  @DefaultValue("30s") Duration evictionInterval,
+                                  @DefaultValue("0") DataSize maxAllocatedBytes) {
+}
@@ -0,0 +1,14 @@
+package com.alex.jsinterpreter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * configuration properties of cache with parsed js sources
+ *
+ * @param maxSize maximum count of cached sources, least recently used source is evicted above it
+ * @author Oleksandr Myronenko
+ */
+@ConfigurationProperties(prefix = "js-interpreter.source-cache")
+public record JSSourceCacheProperties(@DefaultValue("1024") int maxSize) {
+}
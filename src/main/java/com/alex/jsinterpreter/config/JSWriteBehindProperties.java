@@ -0,0 +1,22 @@
+package com.alex.jsinterpreter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * configuration properties of write-behind queue of js code state changes
+ *
+ * @param capacity       maximum count of state changes waiting for flush
+ * @param batchSize      maximum count of state changes flushed by one bulk write
+ * @param flushInterval  maximum time for collecting batch before flush
+ * @param enqueueTimeout maximum time of blocking producer on full queue before writing change synchronously
+ * @author Oleksandr Myronenko
+ */
+@ConfigurationProperties(prefix = "js-interpreter.write-behind")
+public record JSWriteBehindProperties(@DefaultValue("10000") int capacity,
+                                      @DefaultValue("500") int batchSize,
+                                      @DefaultValue("50ms") Duration flushInterval,
+                                      @DefaultValue("1s") Duration enqueueTimeout) {
+}
@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -15,6 +16,9 @@ import java.util.List;
  * @author Oleksandr Myronenko
  */
 @Document(collection = "js_interpreter")
+@CompoundIndex(name = "status_scheduled_time_idx", def = "{'statusCode': 1, 'scheduledTime': 1, '_id': 1}")
+@CompoundIndex(name = "scheduled_time_idx", def = "{'scheduledTime': 1, '_id': 1}")
+@CompoundIndex(name = "owner_status_idx", def = "{'ownerNodeId': 1, 'statusCode': 1}", sparse = true)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,6 +30,16 @@ public class JSCode {
     private List<String> scriptResults;
     private Instant scheduledTime;
     private Long executionTime;
+    private Long outputLineCount;
+    private JSCodeLimits limits;
+    private JSCodePhases phases;
+    private String ownerNodeId;
+    private Instant leaseExpiresAt;
+    private Boolean stopRequested;
+    private JSCodePriority priority;
+    private String tenantId;
+    private Boolean profiling;
+    private JSCodeProfile profile;
 
     public JSCode(JSCodeStatus statusCode, String scriptBody, List<String> scriptResults,
                   Instant scheduledTime, Long executionTime) {
@@ -0,0 +1,31 @@
+package com.alex.jsinterpreter.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The document part stores execution budgets requested for JavaScript code, default budget is used for
+ * every empty field.
+ *
+ * @author Oleksandr Myronenko
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class JSCodeLimits {
+    private Long timeoutMillis;
+    private Long statementLimit;
+    private Long allocationLimitBytes;
+
+    /**
+     * using for checking whether any budget is requested
+     *
+     * @return true if all budgets are default
+     */
+    public boolean isEmpty() {
+        return timeoutMillis == null && statementLimit == null && allocationLimitBytes == null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.alex.jsinterpreter.document;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+/**
+ * The document stores ordered chunk of output lines of {@link JSCode} execution.
+ * Line numbers of chunk are in range from first line inclusive to last line exclusive.
+ *
+ * @author Oleksandr Myronenko
+ */
+@Document(collection = "js_interpreter_output")
+@CompoundIndex(name = "js_code_line_idx", def = "{'jsCodeId': 1, 'firstLine': 1}", unique = true)
+@Getter
+@Setter
+@NoArgsConstructor
+public class JSCodeOutputChunk {
+    @Id
+    private String chunkId;
+    private String jsCodeId;
+    private long firstLine;
+    private long lastLine;
+    private List<String> lines;
+
+    public JSCodeOutputChunk(String jsCodeId, long firstLine, List<String> lines) {
+        this.jsCodeId = jsCodeId;
+        this.firstLine = firstLine;
+        this.lastLine = firstLine + lines.size();
+        this.lines = lines;
+    }
+}
@@ -0,0 +1,28 @@
+package com.alex.jsinterpreter.document;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Transient;
+
+/**
+ * The document part stores time of every phase of JavaScript code execution in nanoseconds.
+ *
+ * @author Oleksandr Myronenko
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class JSCodePhases {
+    private long queueWaitNanos;
+    private long contextAcquireNanos;
+    private long evalNanos;
+    private long outputCaptureNanos;
+    private long persistenceNanos;
+    private long totalNanos;
+    // reading of monotonic clock of this JVM, it means nothing to database and to clients
+    @Transient
+    @JsonIgnore
+    private long startNanos;
+}
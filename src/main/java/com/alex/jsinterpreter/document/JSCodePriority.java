@@ -0,0 +1,11 @@
+package com.alex.jsinterpreter.document;
+
+/**
+ * enums priority class of js code, share of execution pool given to queued js codes of every class is
+ * proportional to its weight
+ *
+ * @author Oleksandr Myronenko
+ */
+public enum JSCodePriority {
+    INTERACTIVE, NORMAL, BULK
+}
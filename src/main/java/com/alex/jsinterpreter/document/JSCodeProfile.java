@@ -0,0 +1,25 @@
+package com.alex.jsinterpreter.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * The document part stores CPU profile of JavaScript code execution: functions ordered by their self time and
+ * sampled stacks in collapsed format which is accepted by flame graph tools.
+ *
+ * @author Oleksandr Myronenko
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class JSCodeProfile {
+    private long samples;
+    private long sampleIntervalMillis;
+    private List<JSCodeProfileFunction> functions;
+    private List<String> collapsedStacks;
+}
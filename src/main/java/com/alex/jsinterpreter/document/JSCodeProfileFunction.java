@@ -0,0 +1,25 @@
+package com.alex.jsinterpreter.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The document part stores sampled time of one JavaScript function, self time is spent in function itself and
+ * total time includes its callees.
+ *
+ * @author Oleksandr Myronenko
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class JSCodeProfileFunction {
+    private String name;
+    private String location;
+    private long selfSamples;
+    private long totalSamples;
+    private long selfTimeMillis;
+    private long totalTimeMillis;
+}
@@ -6,5 +6,14 @@ package com.alex.jsinterpreter.document;
  * @author Oleksandr Myronenko
  */
 public enum JSCodeStatus {
-    PLANNED, EXECUTING, COMPLETED, STOPPED, FAILED
+    PLANNED, EXECUTING, COMPLETED, STOPPED, FAILED, TIMED_OUT;
+
+    /**
+     * using for checking whether js code can not change its status anymore
+     *
+     * @return true if status is terminal
+     */
+    public boolean isTerminal() {
+        return this != PLANNED && this != EXECUTING;
+    }
 }
@@ -0,0 +1,14 @@
+package com.alex.jsinterpreter.domain.dto;
+
+import com.alex.jsinterpreter.document.JSCodeLimits;
+
+/**
+ * one js code of batch request
+ *
+ * @param scriptBody    js code script for execution
+ * @param scheduledTime optional scheduled time of execution, js code is executed right away if it is empty
+ * @param limits        optional budgets of execution
+ * @author Oleksandr Myronenko
+ */
+public record JSCodeBatchItem(String scriptBody, String scheduledTime, JSCodeLimits limits) {
+}
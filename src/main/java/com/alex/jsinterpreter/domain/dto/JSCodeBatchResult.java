@@ -0,0 +1,16 @@
+package com.alex.jsinterpreter.domain.dto;
+
+import com.alex.jsinterpreter.document.JSCodeStatus;
+
+import java.util.List;
+
+/**
+ * result of one js code of batch request
+ *
+ * @param jsCodeId      id of js code
+ * @param statusCode    status of js code when response is built
+ * @param scriptResults output of js code if results were requested
+ * @author Oleksandr Myronenko
+ */
+public record JSCodeBatchResult(String jsCodeId, JSCodeStatus statusCode, List<String> scriptResults) {
+}
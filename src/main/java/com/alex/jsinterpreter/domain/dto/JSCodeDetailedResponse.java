@@ -1,5 +1,7 @@
 package com.alex.jsinterpreter.domain.dto;
 
+import com.alex.jsinterpreter.document.JSCodePhases;
+import com.alex.jsinterpreter.document.JSCodePriority;
 import com.alex.jsinterpreter.document.JSCodeStatus;
 import lombok.*;
 
@@ -23,4 +25,8 @@ public class JSCodeDetailedResponse {
     private List<String> scriptResults;
     private Instant scheduledTime;
     private Long executionTime;
+    private Long outputLineCount;
+    private JSCodePhases phases;
+    private JSCodePriority priority;
+    private String tenantId;
 }
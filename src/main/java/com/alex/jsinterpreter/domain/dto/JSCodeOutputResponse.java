@@ -0,0 +1,21 @@
+package com.alex.jsinterpreter.domain.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * dto class for range of js code output lines
+ *
+ * @author Oleksandr Myronenko
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class JSCodeOutputResponse {
+    private String jsCodeId;
+    private long offset;
+    private List<String> lines;
+}
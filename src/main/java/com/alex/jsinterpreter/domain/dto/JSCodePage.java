@@ -0,0 +1,13 @@
+package com.alex.jsinterpreter.domain.dto;
+
+import java.util.List;
+
+/**
+ * page of js codes in common response
+ *
+ * @param jsCodes    js codes of page
+ * @param nextCursor cursor of next page, null if this page is the last one
+ * @author Oleksandr Myronenko
+ */
+public record JSCodePage(List<JSCodeCommonResponse> jsCodes, String nextCursor) {
+}
@@ -0,0 +1,10 @@
+package com.alex.jsinterpreter.domain.dto;
+
+/**
+ * response of js code which was submitted for execution
+ *
+ * @param jsCodeId id of submitted js code
+ * @author Oleksandr Myronenko
+ */
+public record JSCodeSubmissionResponse(String jsCodeId) {
+}
@@ -0,0 +1,19 @@
+package com.alex.jsinterpreter.domain.dto;
+
+import com.alex.jsinterpreter.document.JSCodeStatus;
+
+import java.util.List;
+
+/**
+ * result of js code executed in session
+ *
+ * @param sessionId     id of session
+ * @param statusCode    terminal status of execution
+ * @param scriptResults output of execution
+ * @param executionTime execution time in milliseconds
+ * @param active        false if session was closed by this execution
+ * @author Oleksandr Myronenko
+ */
+public record JSSessionExecutionResponse(String sessionId, JSCodeStatus statusCode, List<String> scriptResults,
+                                         long executionTime, boolean active) {
+}
@@ -0,0 +1,17 @@
+package com.alex.jsinterpreter.domain.dto;
+
+import java.time.Instant;
+
+/**
+ * state of session which keeps js state across executions
+ *
+ * @param sessionId      id of session
+ * @param createdTime    time of session creation
+ * @param lastAccessTime time of last execution in session
+ * @param executionCount count of executions in session
+ * @param allocatedBytes bytes allocated by all executions in session
+ * @author Oleksandr Myronenko
+ */
+public record JSSessionResponse(String sessionId, Instant createdTime, Instant lastAccessTime, long executionCount,
+                                long allocatedBytes) {
+}
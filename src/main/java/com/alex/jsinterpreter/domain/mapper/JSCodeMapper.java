@@ -4,6 +4,7 @@ import com.alex.jsinterpreter.document.JSCode;
 import com.alex.jsinterpreter.domain.dto.JSCodeCommonResponse;
 import com.alex.jsinterpreter.domain.dto.JSCodeDetailedResponse;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 /**
  * This mapper is used to mapping {@link JSCode} document
@@ -29,10 +30,17 @@ public interface JSCodeMapper {
     JSCodeDetailedResponse documentMapToDetailedResponse(JSCode jsCode);
 
     /**
-     * method is used to map detailed response to document
+     * method is used to map detailed response to document, limits, lease and profiling of execution are not part
+     * of response
      *
      * @param jsCodeDetailedResponse js code in detailed response
      * @return js code in document
      */
+    @Mapping(target = "limits", ignore = true)
+    @Mapping(target = "ownerNodeId", ignore = true)
+    @Mapping(target = "leaseExpiresAt", ignore = true)
+    @Mapping(target = "stopRequested", ignore = true)
+    @Mapping(target = "profiling", ignore = true)
+    @Mapping(target = "profile", ignore = true)
     JSCode detailedResponseMapToDocument(JSCodeDetailedResponse jsCodeDetailedResponse);
 }
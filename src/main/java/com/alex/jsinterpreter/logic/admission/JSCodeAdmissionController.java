@@ -0,0 +1,113 @@
+package com.alex.jsinterpreter.logic.admission;
+
+import com.alex.jsinterpreter.config.JSAdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * class responsible for limiting count of js code executions which are queued or running. Execution over limit
+ * is rejected before anything is saved, so overload does not grow memory. Adaptive limit follows AIMD: it is
+ * increased by one while executions are faster than target latency and limit is almost used, and it is decreased
+ * by backoff ratio on every slower execution
+ *
+ * @author Oleksandr Myronenko
+ */
+@Slf4j
+@Component
+public class JSCodeAdmissionController {
+    private final JSAdmissionProperties properties;
+    private final Counter rejected;
+    private final long targetLatencyNanos;
+    private double limit;
+    private int inFlight;
+
+    public JSCodeAdmissionController(JSAdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limit = properties.limit();
+        this.targetLatencyNanos = properties.targetLatency().toNanos();
+        this.rejected = meterRegistry.counter("js.admission.rejected");
+        Gauge.builder("js.admission.limit", this, JSCodeAdmissionController::getLimit).register(meterRegistry);
+        Gauge.builder("js.admission.inflight", this, JSCodeAdmissionController::getInFlight).register(meterRegistry);
+    }
+
+    /**
+     * using for admitting new execution
+     *
+     * @return permit which must be released when execution is finished
+     * @throws JSCodeRejectedException if limit of executions is reached
+     */
+    public Permit acquire() {
+        return acquire(1).get(0);
+    }
+
+    /**
+     * using for admitting several executions at once, either all of them are admitted or none
+     *
+     * @param count count of executions
+     * @return permits which must be released when every execution is finished
+     * @throws JSCodeRejectedException if limit of executions is reached
+     */
+    public List<Permit> acquire(int count) {
+        synchronized (this) {
+            if (inFlight + count > (int) limit) {
+                rejected.increment(count);
+                log.warn("js code executions were rejected -> {}, executions in flight -> {}", count, inFlight);
+                throw new JSCodeRejectedException("Too many js codes are executing, retry later",
+                        properties.retryAfter());
+            }
+            inFlight += count;
+        }
+        return Collections.nCopies(count, new Permit(System.nanoTime()));
+    }
+
+    /**
+     * using for releasing permit of finished execution, latency of execution adapts limit
+     *
+     * @param permit permit of execution
+     */
+    public void release(Permit permit) {
+        long latencyNanos = System.nanoTime() - permit.acquiredNanos();
+        synchronized (this) {
+            if (properties.adaptive()) {
+                if (latencyNanos > targetLatencyNanos) {
+                    limit = Math.max(properties.minLimit(), limit * properties.backoffRatio());
+                } else if (inFlight * 2 >= limit) {
+                    limit = Math.min(properties.maxLimit(), limit + 1);
+                }
+            }
+            inFlight--;
+        }
+    }
+
+    /**
+     * using for getting current limit of executions
+     *
+     * @return limit of executions
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * using for getting count of admitted executions which are not finished
+     *
+     * @return count of executions in flight
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * permit of admitted execution
+     *
+     * @param acquiredNanos time of admission
+     */
+    public record Permit(long acquiredNanos) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.alex.jsinterpreter.logic.admission;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * exception is thrown when js code execution is not admitted because application is saturated
+ *
+ * @author Oleksandr Myronenko
+ */
+@Getter
+public class JSCodeRejectedException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public JSCodeRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,171 @@
+package com.alex.jsinterpreter.logic.cache;
+
+import com.alex.jsinterpreter.config.JSDetailedCacheProperties;
+import com.alex.jsinterpreter.domain.dto.JSCodeDetailedResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * class responsible for caching detailed js codes in terminal status by id. Such js code and its output do not
+ * change anymore, so it is read from database only once until it is deleted. Least recently used js code is
+ * evicted when count or estimated size of cached js codes exceeds its limit. Deleted js code leaves tombstone with
+ * version of cache, so response which was read from database before deletion is not cached again
+ *
+ * @author Oleksandr Myronenko
+ */
+@Component
+public class JSCodeDetailedCache {
+    private final JSDetailedCacheProperties properties;
+    private final long maxWeight;
+    private final Map<String, CachedJSCode> jsCodes = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Long> tombstones = new LinkedHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private long weight;
+    private long version;
+    private long forgottenVersion;
+
+    public JSCodeDetailedCache(JSDetailedCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.maxWeight = properties.maxWeight().toBytes();
+        this.hits = meterRegistry.counter("js.detailed.cache.hits");
+        this.misses = meterRegistry.counter("js.detailed.cache.misses");
+        this.evictions = meterRegistry.counter("js.detailed.cache.evictions");
+        Gauge.builder("js.detailed.cache.size", this, JSCodeDetailedCache::size).register(meterRegistry);
+        Gauge.builder("js.detailed.cache.weight", this, JSCodeDetailedCache::getWeight).register(meterRegistry);
+    }
+
+    /**
+     * using for getting cached detailed js code
+     *
+     * @param jsCodeId id of js code
+     * @return cached {@link JSCodeDetailedResponse} or empty optional if it is absent or expired
+     */
+    public Optional<JSCodeDetailedResponse> get(String jsCodeId) {
+        if (!properties.enabled()) {
+            return Optional.empty();
+        }
+        synchronized (jsCodes) {
+            CachedJSCode cachedJSCode = jsCodes.get(jsCodeId);
+            if (cachedJSCode != null && cachedJSCode.expiresAtNanos() - System.nanoTime() > 0) {
+                hits.increment();
+                return Optional.of(cachedJSCode.response());
+            }
+            if (cachedJSCode != null) {
+                remove(jsCodeId);
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * using for getting version of cache before js code is read from database
+     *
+     * @return current version of cache
+     */
+    public long getVersion() {
+        synchronized (jsCodes) {
+            return version;
+        }
+    }
+
+    /**
+     * using for caching detailed js code, js code which is not in terminal status or which was invalidated after
+     * it was read is skipped
+     *
+     * @param response    detailed js code with preview of its output
+     * @param readVersion version of cache before js code was read from database
+     */
+    public void put(JSCodeDetailedResponse response, long readVersion) {
+        if (!properties.enabled() || response.getStatusCode() == null || !response.getStatusCode().isTerminal()) {
+            return;
+        }
+        long responseWeight = ResponseWeight.of(response);
+        if (responseWeight > maxWeight) {
+            return;
+        }
+        CachedJSCode cachedJSCode = new CachedJSCode(response, responseWeight,
+                System.nanoTime() + properties.ttl().toNanos());
+        synchronized (jsCodes) {
+            Long invalidatedVersion = tombstones.get(response.getJsCodeId());
+            if (forgottenVersion > readVersion || invalidatedVersion != null && invalidatedVersion > readVersion) {
+                return;
+            }
+            CachedJSCode previous = jsCodes.put(response.getJsCodeId(), cachedJSCode);
+            if (previous != null) {
+                weight -= previous.weight();
+            }
+            weight += responseWeight;
+            evictEldest();
+        }
+    }
+
+    /**
+     * using for removing cached js code which is deleted
+     *
+     * @param jsCodeId id of js code
+     */
+    public void invalidate(String jsCodeId) {
+        synchronized (jsCodes) {
+            remove(jsCodeId);
+            tombstones.remove(jsCodeId);
+            tombstones.put(jsCodeId, ++version);
+            if (tombstones.size() > properties.maxSize()) {
+                // reads which started before forgotten tombstone are not cached, so eldest one can be dropped
+                Iterator<Long> iterator = tombstones.values().iterator();
+                forgottenVersion = iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * using for getting count of cached js codes
+     *
+     * @return cache size
+     */
+    public int size() {
+        synchronized (jsCodes) {
+            return jsCodes.size();
+        }
+    }
+
+    /**
+     * using for getting estimated size of cached js codes
+     *
+     * @return weight of cache in bytes
+     */
+    public long getWeight() {
+        synchronized (jsCodes) {
+            return weight;
+        }
+    }
+
+    private void evictEldest() {
+        Iterator<CachedJSCode> iterator = jsCodes.values().iterator();
+        while ((jsCodes.size() > properties.maxSize() || weight > maxWeight) && iterator.hasNext()) {
+            weight -= iterator.next().weight();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private void remove(String jsCodeId) {
+        CachedJSCode cachedJSCode = jsCodes.remove(jsCodeId);
+        if (cachedJSCode != null) {
+            weight -= cachedJSCode.weight();
+        }
+    }
+
+    private record CachedJSCode(JSCodeDetailedResponse response, long weight, long expiresAtNanos) {
+    }
+}
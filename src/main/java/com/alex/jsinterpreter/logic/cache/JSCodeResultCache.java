@@ -0,0 +1,168 @@
+package com.alex.jsinterpreter.logic.cache;
+
+import com.alex.jsinterpreter.config.JSMemoizationProperties;
+import com.alex.jsinterpreter.domain.dto.JSCodeDetailedResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * class responsible for memoization of completed js code results by hash of script body and optional idempotency
+ * key of client. Memoized result is returned during ttl, least recently used result is evicted when count or
+ * estimated size of memoized results exceeds its limit
+ *
+ * @author Oleksandr Myronenko
+ */
+@Component
+public class JSCodeResultCache {
+    private final JSMemoizationProperties properties;
+    private final long maxWeight;
+    private final Map<String, MemoizedResult> results = new LinkedHashMap<>(16, 0.75f, true);
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private long weight;
+
+    public JSCodeResultCache(JSMemoizationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.maxWeight = properties.maxWeight().toBytes();
+        this.hits = meterRegistry.counter("js.memoization.hits");
+        this.misses = meterRegistry.counter("js.memoization.misses");
+        this.evictions = meterRegistry.counter("js.memoization.evictions");
+        Gauge.builder("js.memoization.size", this, JSCodeResultCache::size).register(meterRegistry);
+        Gauge.builder("js.memoization.weight", this, JSCodeResultCache::getWeight).register(meterRegistry);
+    }
+
+    /**
+     * using for checking whether memoization is enabled
+     *
+     * @return true if results of repeated scripts are memoized
+     */
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * using for getting memoized result of script
+     *
+     * @param scriptBody     js script body
+     * @param idempotencyKey optional idempotency key of client
+     * @return memoized {@link JSCodeDetailedResponse} or empty optional if it is absent or expired
+     */
+    public Optional<JSCodeDetailedResponse> get(String scriptBody, Optional<String> idempotencyKey) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        String key = getKey(scriptBody, idempotencyKey);
+        synchronized (results) {
+            MemoizedResult result = results.get(key);
+            if (result != null && result.expiresAtNanos() - System.nanoTime() > 0
+                    && scriptBody.equals(result.response().getScriptBody())) {
+                hits.increment();
+                return Optional.of(result.response());
+            }
+            if (result != null) {
+                remove(key);
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * using for memoizing result of completed js code
+     *
+     * @param idempotencyKey optional idempotency key of client
+     * @param response       detailed js code with all its results
+     */
+    public void put(Optional<String> idempotencyKey, JSCodeDetailedResponse response) {
+        if (!isEnabled()) {
+            return;
+        }
+        long resultWeight = ResponseWeight.of(response);
+        if (resultWeight > maxWeight) {
+            return;
+        }
+        String key = getKey(response.getScriptBody(), idempotencyKey);
+        MemoizedResult result = new MemoizedResult(response, resultWeight,
+                System.nanoTime() + properties.ttl().toNanos());
+        synchronized (results) {
+            MemoizedResult previous = results.put(key, result);
+            if (previous != null) {
+                weight -= previous.weight();
+            }
+            weight += resultWeight;
+            evictEldest();
+        }
+    }
+
+    /**
+     * using for removing memoized results of deleted js code
+     *
+     * @param jsCodeId id of js code
+     */
+    public void invalidate(String jsCodeId) {
+        synchronized (results) {
+            Iterator<MemoizedResult> iterator = results.values().iterator();
+            while (iterator.hasNext()) {
+                MemoizedResult result = iterator.next();
+                if (jsCodeId.equals(result.response().getJsCodeId())) {
+                    weight -= result.weight();
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * using for getting count of memoized results
+     *
+     * @return cache size
+     */
+    public int size() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    /**
+     * using for getting estimated size of memoized results
+     *
+     * @return weight of cache in bytes
+     */
+    public long getWeight() {
+        synchronized (results) {
+            return weight;
+        }
+    }
+
+    private void evictEldest() {
+        Iterator<MemoizedResult> iterator = results.values().iterator();
+        while ((results.size() > properties.maxSize() || weight > maxWeight) && iterator.hasNext()) {
+            weight -= iterator.next().weight();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private void remove(String key) {
+        MemoizedResult result = results.remove(key);
+        if (result != null) {
+            weight -= result.weight();
+        }
+    }
+
+    private String getKey(String scriptBody, Optional<String> idempotencyKey) {
+        String hash = ScriptHash.of(scriptBody);
+        return idempotencyKey.map(key -> hash + ":" + key).orElse(hash);
+    }
+
+    private record MemoizedResult(JSCodeDetailedResponse response, long weight, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.alex.jsinterpreter.logic.cache;
+
+import com.alex.jsinterpreter.config.JSSourceCacheProperties;
+import com.alex.jsinterpreter.logic.JSMember;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.graalvm.polyglot.Source;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * class responsible for caching parsed js sources by hash of script body. Cached sources evaluated in contexts
+ * of shared engine reuse parsed AST and compiled code of previous executions
+ *
+ * @author Oleksandr Myronenko
+ */
+@Component
+public class JSSourceCache {
+    private static final int SOURCE_NAME_HASH_LENGTH = 12;
+    private final Map<String, Source> sources;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public JSSourceCache(JSSourceCacheProperties properties, MeterRegistry meterRegistry) {
+        this.hits = meterRegistry.counter("js.source.cache.hits");
+        this.misses = meterRegistry.counter("js.source.cache.misses");
+        this.evictions = meterRegistry.counter("js.source.cache.evictions");
+        this.sources = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Source> eldest) {
+                boolean evict = size() > properties.maxSize();
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+        Gauge.builder("js.source.cache.size", this, JSSourceCache::size).register(meterRegistry);
+        Gauge.builder("js.source.cache.hit.ratio", this, JSSourceCache::hitRatio).register(meterRegistry);
+    }
+
+    /**
+     * using for getting cached source of script body, source is created if it is absent
+     *
+     * @param scriptBody js script body
+     * @return cached {@link Source}
+     */
+    public Source getSource(String scriptBody) {
+        String hash = ScriptHash.of(scriptBody);
+        synchronized (sources) {
+            Source source = sources.get(hash);
+            if (source != null && scriptBody.contentEquals(source.getCharacters())) {
+                hits.increment();
+                return source;
+            }
+        }
+        misses.increment();
+        Source source = Source.newBuilder(JSMember.JS.getValue(), scriptBody,
+                        "script-" + hash.substring(0, SOURCE_NAME_HASH_LENGTH))
+                .cached(true)
+                .buildLiteral();
+        synchronized (sources) {
+            sources.put(hash, source);
+        }
+        return source;
+    }
+
+    /**
+     * using for getting count of cached sources
+     *
+     * @return cache size
+     */
+    public int size() {
+        synchronized (sources) {
+            return sources.size();
+        }
+    }
+
+    /**
+     * using for getting ratio of cache hits to all cache lookups
+     *
+     * @return hit ratio from 0 to 1
+     */
+    public double hitRatio() {
+        double lookups = hits.count() + misses.count();
+        return lookups == 0 ? 0 : hits.count() / lookups;
+    }
+}
@@ -0,0 +1,41 @@
+package com.alex.jsinterpreter.logic.cache;
+
+import com.alex.jsinterpreter.domain.dto.JSCodeDetailedResponse;
+
+import java.util.List;
+
+/**
+ * class using for estimating heap size of cached detailed js code with its output
+ *
+ * @author Oleksandr Myronenko
+ */
+public final class ResponseWeight {
+    // object headers, boxed fields and phases of response
+    private static final long RESPONSE_OVERHEAD_BYTES = 512L;
+    private static final long STRING_OVERHEAD_BYTES = 40L;
+
+    private ResponseWeight() {
+    }
+
+    /**
+     * using for estimating size of response, strings are counted as two bytes per character
+     *
+     * @param response detailed js code
+     * @return estimated size in bytes
+     */
+    public static long of(JSCodeDetailedResponse response) {
+        long responseWeight = RESPONSE_OVERHEAD_BYTES + of(response.getJsCodeId())
+                + of(response.getScriptBody()) + of(response.getTenantId());
+        List<String> scriptResults = response.getScriptResults();
+        if (scriptResults != null) {
+            for (String line : scriptResults) {
+                responseWeight += of(line);
+            }
+        }
+        return responseWeight;
+    }
+
+    private static long of(String value) {
+        return value == null ? 0L : STRING_OVERHEAD_BYTES + 2L * value.length();
+    }
+}
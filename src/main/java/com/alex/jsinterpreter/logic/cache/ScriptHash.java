@@ -0,0 +1,33 @@
+package com.alex.jsinterpreter.logic.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * class using for calculating content hash of js script body
+ *
+ * @author Oleksandr Myronenko
+ */
+public final class ScriptHash {
+    private static final String ALGORITHM = "SHA-256";
+
+    private ScriptHash() {
+    }
+
+    /**
+     * using for calculating hash of script body
+     *
+     * @param scriptBody js script body
+     * @return hex string of SHA-256 hash
+     */
+    public static String of(String scriptBody) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(ALGORITHM);
+            return HexFormat.of().formatHex(digest.digest(scriptBody.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Hash algorithm is not available " + ALGORITHM, e);
+        }
+    }
+}
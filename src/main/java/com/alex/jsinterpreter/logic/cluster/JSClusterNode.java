@@ -0,0 +1,78 @@
+package com.alex.jsinterpreter.logic.cluster;
+
+import com.alex.jsinterpreter.config.JSClusterProperties;
+import com.alex.jsinterpreter.document.JSCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * class represents this application node, which owns js codes by leases
+ *
+ * @author Oleksandr Myronenko
+ */
+@Slf4j
+@Component
+public class JSClusterNode {
+    private static final int NODE_SUFFIX_LENGTH = 8;
+    private final String nodeId;
+    private final JSClusterProperties properties;
+
+    public JSClusterNode(JSClusterProperties properties) {
+        this.properties = properties;
+        this.nodeId = properties.nodeId() == null || properties.nodeId().isBlank() ? generateNodeId()
+                : properties.nodeId();
+        log.info("application node id -> {}", nodeId);
+    }
+
+    /**
+     * using for getting id of this node
+     *
+     * @return node id
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * using for getting expiration time of lease which is taken or renewed now
+     *
+     * @return lease expiration time
+     */
+    public Instant nextLeaseExpiration() {
+        return Instant.now().plus(properties.leaseDuration());
+    }
+
+    /**
+     * using for checking whether js code is owned by this node
+     *
+     * @param jsCode {@link JSCode}
+     * @return true if this node is owner of js code
+     */
+    public boolean isOwner(JSCode jsCode) {
+        return nodeId.equals(jsCode.getOwnerNodeId());
+    }
+
+    /**
+     * using for assigning lease of js code to this node
+     *
+     * @param jsCode {@link JSCode}
+     */
+    public void takeLease(JSCode jsCode) {
+        jsCode.setOwnerNodeId(nodeId);
+        jsCode.setLeaseExpiresAt(nextLeaseExpiration());
+    }
+
+    private String generateNodeId() {
+        String suffix = UUID.randomUUID().toString().substring(0, NODE_SUFFIX_LENGTH);
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + suffix;
+        } catch (UnknownHostException e) {
+            return "node-" + suffix;
+        }
+    }
+}
@@ -1,31 +1,53 @@
 package com.alex.jsinterpreter.logic.collector;
 
 
-import lombok.extern.slf4j.Slf4j;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.proxy.ProxyExecutable;
 
-import java.util.List;
-
 /**
- * class using for collecting results js code
+ * class using for collecting results js code. Strings, numbers and booleans are converted to lines directly,
+ * only other values are converted to host objects
  *
  * @author Oleksandr Myronenko
  */
-@Slf4j
 public class JSCodeCollectionCollector implements ProxyExecutable {
-    private final List<String> scriptResults;
+    private static final String NULL_LINE = "null";
+    private final JSCodeOutputSink outputSink;
 
-    public JSCodeCollectionCollector(List<String> scriptResults) {
-        this.scriptResults = scriptResults;
+    public JSCodeCollectionCollector(JSCodeOutputSink outputSink) {
+        this.outputSink = outputSink;
     }
 
     @Override
     public Object execute(Value... arguments) {
+        long start = System.nanoTime();
         for (Value arg : arguments) {
-            scriptResults.add(String.valueOf(arg.as(Object.class)));
+            outputSink.append(toLine(arg));
         }
-        log.info("arguments was added to collection");
+        outputSink.addCaptureNanos(System.nanoTime() - start);
         return null;
     }
+
+    private String toLine(Value arg) {
+        if (arg.isString()) {
+            return arg.asString();
+        }
+        if (arg.isNumber()) {
+            if (arg.fitsInInt()) {
+                return Integer.toString(arg.asInt());
+            }
+            if (arg.fitsInLong()) {
+                // integral number such as timestamp is printed without exponent
+                return Long.toString(arg.asLong());
+            }
+            return Double.toString(arg.asDouble());
+        }
+        if (arg.isBoolean()) {
+            return Boolean.toString(arg.asBoolean());
+        }
+        if (arg.isNull()) {
+            return NULL_LINE;
+        }
+        return String.valueOf(arg.as(Object.class));
+    }
 }
@@ -0,0 +1,20 @@
+package com.alex.jsinterpreter.logic.collector;
+
+/**
+ * listener of js code output which is notified as soon as output line is produced
+ *
+ * @author Oleksandr Myronenko
+ */
+public interface JSCodeOutputListener {
+    /**
+     * method is called for every output line
+     *
+     * @param line output line
+     */
+    void onLine(String line);
+
+    /**
+     * method is called when execution is finished and no more lines will be produced
+     */
+    void onComplete();
+}
@@ -0,0 +1,99 @@
+package com.alex.jsinterpreter.logic.collector;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * class responsible for keeping outputs of js codes which are executing right now and notifying waiters
+ * about started executions
+ *
+ * @author Oleksandr Myronenko
+ */
+@Component
+public class JSCodeOutputRegistry {
+    private final Map<String, JSCodeOutputSink> outputSinks = new ConcurrentHashMap<>();
+    private final Map<String, List<CompletableFuture<JSCodeOutputSink>>> startWaiters = new HashMap<>();
+
+    /**
+     * using for registering output of started execution, waiters of its start are notified
+     *
+     * @param jsCodeId   js code id
+     * @param outputSink output of execution
+     */
+    public void register(String jsCodeId, JSCodeOutputSink outputSink) {
+        List<CompletableFuture<JSCodeOutputSink>> jsCodeWaiters;
+        synchronized (this) {
+            outputSinks.put(jsCodeId, outputSink);
+            jsCodeWaiters = startWaiters.remove(jsCodeId);
+        }
+        // waiters are completed outside of lock, because their callbacks subscribe to output
+        if (jsCodeWaiters != null) {
+            jsCodeWaiters.forEach(waiter -> waiter.complete(outputSink));
+        }
+    }
+
+    /**
+     * using for unregistering output of finished execution
+     *
+     * @param jsCodeId js code id
+     */
+    public void unregister(String jsCodeId) {
+        outputSinks.remove(jsCodeId);
+    }
+
+    /**
+     * using for getting output of executing js code
+     *
+     * @param jsCodeId js code id
+     * @return optional output of execution
+     */
+    public Optional<JSCodeOutputSink> get(String jsCodeId) {
+        return Optional.ofNullable(outputSinks.get(jsCodeId));
+    }
+
+    /**
+     * using for waiting for start of js code execution on this node
+     *
+     * @param jsCodeId js code id
+     * @return future which is completed by output of started execution, it is already completed if js code
+     * is executing
+     */
+    public synchronized CompletableFuture<JSCodeOutputSink> awaitStart(String jsCodeId) {
+        JSCodeOutputSink outputSink = outputSinks.get(jsCodeId);
+        if (outputSink != null) {
+            return CompletableFuture.completedFuture(outputSink);
+        }
+        CompletableFuture<JSCodeOutputSink> waiter = new CompletableFuture<>();
+        startWaiters.computeIfAbsent(jsCodeId, id -> new ArrayList<>()).add(waiter);
+        return waiter;
+    }
+
+    /**
+     * using for removing waiter which does not wait for start anymore
+     *
+     * @param jsCodeId js code id
+     * @param waiter   future of waiter
+     */
+    public synchronized void unregisterWaiter(String jsCodeId, CompletableFuture<JSCodeOutputSink> waiter) {
+        List<CompletableFuture<JSCodeOutputSink>> jsCodeWaiters = startWaiters.get(jsCodeId);
+        if (jsCodeWaiters != null && jsCodeWaiters.remove(waiter) && jsCodeWaiters.isEmpty()) {
+            startWaiters.remove(jsCodeId);
+        }
+    }
+
+    /**
+     * using for getting count of waiters of start
+     *
+     * @return count of waiting futures
+     */
+    public synchronized int getWaitersCount() {
+        return startWaiters.values().stream().mapToInt(List::size).sum();
+    }
+}
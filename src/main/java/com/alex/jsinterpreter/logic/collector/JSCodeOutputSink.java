@@ -0,0 +1,289 @@
+package com.alex.jsinterpreter.logic.collector;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+/**
+ * class represents output of one js code execution. Sink is created for every execution, so concurrent
+ * executions never share their results. Lines are buffered and appended to {@link JSCodeOutputStore}
+ * in chunks, so only the last not flushed chunk is kept in memory. Listeners are notified about every
+ * line on the thread which produces it. Output above line or size cap is dropped and marked by truncation line.
+ * Size of lines is counted in UTF-8 bytes, line longer than chunk is truncated, so stored chunk never exceeds
+ * size limit of database document
+ *
+ * @author Oleksandr Myronenko
+ */
+@Slf4j
+public class JSCodeOutputSink {
+    private final String jsCodeId;
+    private final JSCodeOutputStore outputStore;
+    private final int chunkLines;
+    private final int chunkBytes;
+    private static final String LINES_TRUNCATED = "... output truncated after %d lines";
+    private static final String BYTES_TRUNCATED = "... output truncated after %d bytes";
+    private static final String LINE_TRUNCATED = " ... line truncated";
+    // chunk document must stay well under 16 MB limit of BSON document
+    private static final int MAX_CHUNK_BYTES = 4 * 1024 * 1024;
+    private final Predicate<String> failureLine;
+    private final long maxLines;
+    private final long maxBytes;
+    private final List<JSCodeOutputListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<String> pendingLines = new ArrayList<>();
+    private int pendingBytes;
+    private long flushedLines;
+    private long cappedLines;
+    private long cappedBytes;
+    private boolean truncated;
+    private long captureNanos;
+    private long storeNanos;
+    private boolean failureLineProduced;
+    private boolean completed;
+
+    public JSCodeOutputSink(String jsCodeId, JSCodeOutputStore outputStore, int chunkLines, int chunkBytes,
+                            Predicate<String> failureLine) {
+        this(jsCodeId, outputStore, chunkLines, chunkBytes, 0, 0, failureLine);
+    }
+
+    public JSCodeOutputSink(String jsCodeId, JSCodeOutputStore outputStore, int chunkLines, int chunkBytes,
+                            long maxLines, long maxBytes, Predicate<String> failureLine) {
+        this.jsCodeId = jsCodeId;
+        this.outputStore = outputStore;
+        this.chunkLines = chunkLines;
+        this.chunkBytes = Math.min(chunkBytes, MAX_CHUNK_BYTES);
+        this.maxLines = maxLines;
+        this.maxBytes = maxBytes;
+        this.failureLine = failureLine;
+    }
+
+    /**
+     * using for appending line of js code to output, line above cap of output is dropped
+     *
+     * @param line output line
+     */
+    public synchronized void append(String line) {
+        failureLineProduced |= failureLine.test(line);
+        if (truncated) {
+            return;
+        }
+        if (maxLines > 0 && cappedLines >= maxLines) {
+            truncate(LINES_TRUNCATED.formatted(maxLines));
+            return;
+        }
+        int lineBytes = utf8Length(line);
+        if (maxBytes > 0 && cappedBytes + lineBytes > maxBytes) {
+            long remainingBytes = maxBytes - cappedBytes;
+            if (remainingBytes > 0) {
+                addLine(truncateToBytes(line, (int) Math.min(remainingBytes, Integer.MAX_VALUE)));
+            }
+            truncate(BYTES_TRUNCATED.formatted(maxBytes));
+            return;
+        }
+        cappedLines++;
+        cappedBytes += lineBytes;
+        addLine(line);
+    }
+
+    /**
+     * using for appending line which is not produced by js code, such as error or reason of cancellation.
+     * Line is not limited by cap of output
+     *
+     * @param line output line
+     */
+    public synchronized void appendUncapped(String line) {
+        failureLineProduced |= failureLine.test(line);
+        addLine(line);
+    }
+
+    /**
+     * using for checking whether part of output was dropped by cap
+     *
+     * @return true if output was truncated
+     */
+    public synchronized boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * using for subscribing listener, lines which are not stored yet are replayed to listener at once. Stored
+     * lines are not read under lock of output, so execution is not blocked by slow store, listener reads them
+     * from store itself before lines which are passed to it
+     *
+     * @param listener output listener, it must not block, because it is notified by thread of execution
+     * @return count of first lines of output which are stored and are not replayed to listener
+     */
+    public synchronized long subscribe(JSCodeOutputListener listener) {
+        for (String line : pendingLines) {
+            notifyListener(listener, () -> listener.onLine(line));
+        }
+        if (completed) {
+            notifyListener(listener, listener::onComplete);
+        } else {
+            listeners.add(listener);
+        }
+        return flushedLines;
+    }
+
+    /**
+     * using for unsubscribing listener
+     *
+     * @param listener output listener
+     */
+    public synchronized void unsubscribe(JSCodeOutputListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * using for flushing rest of output, marking it as completed and notifying all listeners
+     */
+    public synchronized void complete() {
+        if (completed) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            // listeners are completed even if rest of output was not stored
+            completed = true;
+            for (JSCodeOutputListener listener : listeners) {
+                notifyListener(listener, listener::onComplete);
+            }
+            listeners.clear();
+        }
+    }
+
+    /**
+     * using for getting count of produced lines
+     *
+     * @return count of output lines
+     */
+    public synchronized long getLineCount() {
+        return flushedLines + pendingLines.size();
+    }
+
+    /**
+     * using for adding time spent on capturing output by js code
+     *
+     * @param nanos time of capturing in nanoseconds
+     */
+    public synchronized void addCaptureNanos(long nanos) {
+        captureNanos += nanos;
+    }
+
+    /**
+     * using for getting time spent on capturing output, it includes time of storing chunks during capturing
+     *
+     * @return time of capturing in nanoseconds
+     */
+    public synchronized long getCaptureNanos() {
+        return captureNanos;
+    }
+
+    /**
+     * using for getting time spent on storing chunks of output
+     *
+     * @return time of storing in nanoseconds
+     */
+    public synchronized long getStoreNanos() {
+        return storeNanos;
+    }
+
+    /**
+     * using for checking whether output contains line which marks execution as failed
+     *
+     * @return true if failure line was produced
+     */
+    public synchronized boolean isFailureLineProduced() {
+        return failureLineProduced;
+    }
+
+    private void truncate(String marker) {
+        truncated = true;
+        addLine(marker);
+    }
+
+    private void addLine(String producedLine) {
+        int lineBytes = utf8Length(producedLine);
+        String line = producedLine;
+        if (lineBytes > chunkBytes) {
+            line = truncateToBytes(producedLine, chunkBytes - LINE_TRUNCATED.length()) + LINE_TRUNCATED;
+            lineBytes = utf8Length(line);
+        }
+        if (!pendingLines.isEmpty() && pendingBytes + lineBytes > chunkBytes) {
+            flush();
+        }
+        pendingLines.add(line);
+        pendingBytes += lineBytes;
+        if (!listeners.isEmpty()) {
+            String addedLine = line;
+            for (JSCodeOutputListener listener : listeners) {
+                notifyListener(listener, () -> listener.onLine(addedLine));
+            }
+        }
+        if (pendingLines.size() >= chunkLines || pendingBytes >= chunkBytes) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (pendingLines.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        outputStore.appendChunk(jsCodeId, flushedLines, pendingLines);
+        storeNanos += System.nanoTime() - start;
+        flushedLines += pendingLines.size();
+        // store copies lines of chunk, so buffer of pending lines is reused
+        pendingLines.clear();
+        pendingBytes = 0;
+    }
+
+    private static int utf8Length(String line) {
+        int bytes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char symbol = line.charAt(i);
+            if (symbol < 0x80) {
+                bytes++;
+            } else if (symbol < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(symbol) && i + 1 < line.length()
+                    && Character.isLowSurrogate(line.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static String truncateToBytes(String line, int maxBytes) {
+        int bytes = 0;
+        int end = 0;
+        while (end < line.length()) {
+            char symbol = line.charAt(end);
+            int symbolChars = Character.isHighSurrogate(symbol) && end + 1 < line.length()
+                    && Character.isLowSurrogate(line.charAt(end + 1)) ? 2 : 1;
+            int symbolBytes = symbolChars == 2 ? 4 : symbol < 0x80 ? 1 : symbol < 0x800 ? 2 : 3;
+            if (bytes + symbolBytes > maxBytes) {
+                break;
+            }
+            bytes += symbolBytes;
+            end += symbolChars;
+        }
+        return line.substring(0, end);
+    }
+
+    private void notifyListener(JSCodeOutputListener listener, Runnable notification) {
+        try {
+            notification.run();
+        } catch (RuntimeException e) {
+            // broken listener must not break execution of js code
+            log.warn("output listener failed and was unsubscribed -> {}", e.getMessage());
+            listeners.remove(listener);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.alex.jsinterpreter.logic.collector;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * storage of js code output which keeps output outside of execution memory in ordered chunks
+ *
+ * @author Oleksandr Myronenko
+ */
+public interface JSCodeOutputStore {
+    /**
+     * method is used to append chunk of output lines, list of lines is reused by caller after this call,
+     * so it must be copied if it is kept
+     *
+     * @param jsCodeId  js code id
+     * @param firstLine number of first line of chunk
+     * @param lines     output lines of chunk
+     */
+    void appendChunk(String jsCodeId, long firstLine, List<String> lines);
+
+    /**
+     * method is used to pass all stored output lines of js code in order to consumer
+     *
+     * @param jsCodeId     js code id
+     * @param lineConsumer consumer of output lines
+     */
+    void forEachLine(String jsCodeId, Consumer<String> lineConsumer);
+}
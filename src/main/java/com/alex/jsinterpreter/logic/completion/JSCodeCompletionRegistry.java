@@ -0,0 +1,86 @@
+package com.alex.jsinterpreter.logic.completion;
+
+import com.alex.jsinterpreter.config.JSCompletionProperties;
+import com.alex.jsinterpreter.document.JSCode;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * class responsible for notifying waiters about finished executions of js codes. Recently finished js codes are
+ * kept in memory, because their terminal state may be not flushed to database yet when waiter comes
+ *
+ * @author Oleksandr Myronenko
+ */
+@Component
+public class JSCodeCompletionRegistry {
+    private final Map<String, List<CompletableFuture<JSCode>>> waiters = new HashMap<>();
+    private final Map<String, JSCode> recentlyCompleted;
+
+    public JSCodeCompletionRegistry(JSCompletionProperties properties) {
+        int recentCapacity = properties.recentCapacity();
+        this.recentlyCompleted = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JSCode> eldest) {
+                return size() > recentCapacity;
+            }
+        };
+    }
+
+    /**
+     * using for waiting for completion of js code
+     *
+     * @param jsCodeId js code id
+     * @return future which is completed by finished js code, it is already completed if js code was
+     * finished recently
+     */
+    public synchronized CompletableFuture<JSCode> register(String jsCodeId) {
+        JSCode completedJSCode = recentlyCompleted.get(jsCodeId);
+        if (completedJSCode != null) {
+            return CompletableFuture.completedFuture(completedJSCode);
+        }
+        CompletableFuture<JSCode> waiter = new CompletableFuture<>();
+        waiters.computeIfAbsent(jsCodeId, id -> new ArrayList<>()).add(waiter);
+        return waiter;
+    }
+
+    /**
+     * using for removing waiter which does not wait anymore
+     *
+     * @param jsCodeId js code id
+     * @param waiter   future of waiter
+     */
+    public synchronized void unregister(String jsCodeId, CompletableFuture<JSCode> waiter) {
+        List<CompletableFuture<JSCode>> jsCodeWaiters = waiters.get(jsCodeId);
+        if (jsCodeWaiters != null && jsCodeWaiters.remove(waiter) && jsCodeWaiters.isEmpty()) {
+            waiters.remove(jsCodeId);
+        }
+    }
+
+    /**
+     * using for notifying all waiters of finished js code
+     *
+     * @param jsCode finished {@link JSCode}
+     */
+    public void complete(JSCode jsCode) {
+        List<CompletableFuture<JSCode>> jsCodeWaiters;
+        synchronized (this) {
+            recentlyCompleted.put(jsCode.getJsCodeId(), jsCode);
+            jsCodeWaiters = waiters.remove(jsCode.getJsCodeId());
+        }
+        // waiters are completed outside of lock, because their callbacks write responses
+        if (jsCodeWaiters != null) {
+            jsCodeWaiters.forEach(waiter -> waiter.complete(jsCode));
+        }
+    }
+
+    /**
+     * using for getting count of waiters
+     *
+     * @return count of waiting futures
+     */
+    public synchronized int getWaitersCount() {
+        return waiters.values().stream().mapToInt(List::size).sum();
+    }
+}
@@ -1,17 +1,19 @@
 package com.alex.jsinterpreter.logic.handler;
 
+import com.alex.jsinterpreter.config.JSOutputProperties;
 import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodePhases;
 import com.alex.jsinterpreter.document.JSCodeStatus;
 import com.alex.jsinterpreter.logic.JSMember;
+import com.alex.jsinterpreter.logic.cache.JSSourceCache;
 import com.alex.jsinterpreter.logic.collector.JSCodeCollectionCollector;
+import com.alex.jsinterpreter.logic.collector.JSCodeOutputSink;
+import com.alex.jsinterpreter.logic.service.JSCodeOutputService;
 import com.alex.jsinterpreter.logic.service.JSCodeService;
 import lombok.extern.slf4j.Slf4j;
 import org.graalvm.polyglot.Context;
-import org.graalvm.polyglot.PolyglotException;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 /**
  * class responsible for handling js code results
  *
@@ -20,57 +22,135 @@ import java.util.List;
 @Component
 @Slf4j
 public class JSCodeResultHandler {
+    private static final String INFINITY_RESULT = "Infinity";
     private final JSCodeService jsCodeService;
-    private final List<String> scriptResults;
+    private final JSSourceCache jsSourceCache;
+    private final JSCodeOutputService jsCodeOutputService;
+    private final JSOutputProperties outputProperties;
 
-    public JSCodeResultHandler(JSCodeService jsCodeService, List<String> scriptResults) {
+    public JSCodeResultHandler(JSCodeService jsCodeService, JSSourceCache jsSourceCache,
+                               JSCodeOutputService jsCodeOutputService, JSOutputProperties outputProperties) {
         this.jsCodeService = jsCodeService;
-        this.scriptResults = scriptResults;
+        this.jsSourceCache = jsSourceCache;
+        this.jsCodeOutputService = jsCodeOutputService;
+        this.outputProperties = outputProperties;
+    }
+
+    /**
+     * using for creating output of new js code execution
+     *
+     * @param jsCode {@link JSCode}
+     * @return output sink of execution
+     */
+    public JSCodeOutputSink createOutputSink(JSCode jsCode) {
+        return new JSCodeOutputSink(jsCode.getJsCodeId(), jsCodeOutputService, outputProperties.chunkLines(),
+                outputProperties.chunkBytes(), outputProperties.maxLines(), outputProperties.maxBytes(),
+                INFINITY_RESULT::equals);
     }
 
     /**
-     * using for handling output executing js code and update it
+     * using for executing js code with collecting its output
      *
-     * @param context context of js code graalvm
-     * @param jsCode  {@link JSCode}
+     * @param context    context of js code graalvm
+     * @param jsCode     {@link JSCode}
+     * @param outputSink output of current execution
      */
-    public void handleOutputExecutingAndUpdateJSCode(Context context, JSCode jsCode) {
-        jsCodeService.updateStatus(jsCode, JSCodeStatus.EXECUTING);
+    public void executeAndCollectOutput(Context context, JSCode jsCode, JSCodeOutputSink outputSink) {
+        // js code is already moved to executing status when it is claimed
         // collecting all output to collection
         context.getBindings(JSMember.JS.getValue()).getMember(JSMember.CONSOLE.getValue())
-                .putMember(JSMember.LOG.getValue(), new JSCodeCollectionCollector(scriptResults));
-        // execute js code
-        context.eval(JSMember.JS.getValue(), jsCode.getScriptBody());
-        jsCodeService.updateScriptResult(jsCode, scriptResults);
-        if (checkScriptResults(scriptResults)) {
-            jsCodeService.updateStatus(jsCode, JSCodeStatus.COMPLETED);
-        } else {
-            jsCodeService.updateStatus(jsCode, JSCodeStatus.FAILED);
+                .putMember(JSMember.LOG.getValue(), new JSCodeCollectionCollector(outputSink));
+        // execute cached source of js code
+        long start = System.nanoTime();
+        try {
+            context.eval(jsSourceCache.getSource(jsCode.getScriptBody()));
+        } finally {
+            recordEvalPhases(jsCode, outputSink, System.nanoTime() - start);
         }
     }
 
+    /**
+     * using for handling output of executed js code and update it
+     *
+     * @param jsCode        {@link JSCode}
+     * @param outputSink    output of current execution
+     * @param executionTime execution time of js code
+     */
+    public void handleOutputAndUpdateJSCode(JSCode jsCode, JSCodeOutputSink outputSink, long executionTime) {
+        JSCodeStatus jsCodeStatus = outputSink.isFailureLineProduced() ? JSCodeStatus.FAILED : JSCodeStatus.COMPLETED;
+        // rest of output is stored before terminal status becomes visible
+        if (!completeOutput(jsCode, outputSink)) {
+            jsCodeStatus = JSCodeStatus.FAILED;
+        }
+        recordPersistencePhase(jsCode, outputSink);
+        jsCodeService.updateExecutionResult(jsCode, jsCodeStatus, outputSink.getLineCount(), executionTime);
+    }
+
     /**
      * using for handling exception to results and update js code
      *
-     * @param exception exception for handling
-     * @param jsCode    {@link JSCode}
+     * @param exception     exception for handling
+     * @param jsCode        {@link JSCode}
+     * @param outputSink    output of current execution
+     * @param executionTime execution time of js code
      */
-    public void handleExceptionsAndUpdateJSCode(PolyglotException exception, JSCode jsCode) {
-        String exceptionMessage = exception.getMessage();
-        scriptResults.add(exceptionMessage);
-        jsCodeService.updateScriptResult(jsCode, scriptResults);
+    public void handleExceptionsAndUpdateJSCode(RuntimeException exception, JSCode jsCode,
+                                                JSCodeOutputSink outputSink, long executionTime) {
+        String exceptionMessage = exception.getMessage() != null ? exception.getMessage() : exception.toString();
+        outputSink.appendUncapped(exceptionMessage);
         log.warn("java script code produce error -> {}", exceptionMessage);
-        jsCodeService.updateStatus(jsCode, JSCodeStatus.FAILED);
+        completeOutput(jsCode, outputSink);
+        recordPersistencePhase(jsCode, outputSink);
+        jsCodeService.updateExecutionResult(jsCode, JSCodeStatus.FAILED, outputSink.getLineCount(), executionTime);
     }
 
     /**
-     * using for clearing all results
+     * using for handling cancelled execution and update js code
+     *
+     * @param jsCode        {@link JSCode}
+     * @param outputSink    output of current execution
+     * @param executionTime execution time of js code
+     * @param jsCodeStatus  terminal status of cancelled js code
+     * @param reason        optional reason of cancellation which is added to output
      */
-    public void clearAllResults() {
-        scriptResults.clear();
+    public void handleCancellationAndUpdateJSCode(JSCode jsCode, JSCodeOutputSink outputSink, long executionTime,
+                                                  JSCodeStatus jsCodeStatus, String reason) {
+        log.info("java script code execution was cancelled -> {}", jsCodeStatus);
+        if (reason != null) {
+            outputSink.appendUncapped(reason);
+        }
+        completeOutput(jsCode, outputSink);
+        recordPersistencePhase(jsCode, outputSink);
+        jsCodeService.updateExecutionResult(jsCode, jsCodeStatus, outputSink.getLineCount(), executionTime);
+    }
+
+    private boolean completeOutput(JSCode jsCode, JSCodeOutputSink outputSink) {
+        try {
+            outputSink.complete();
+            return true;
+        } catch (RuntimeException e) {
+            // terminal status is still stored, so js code does not stay executing with renewed lease
+            log.error("rest of output of js code was not stored -> {}", jsCode.getJsCodeId(), e);
+            return false;
+        }
     }
 
-    private boolean checkScriptResults(List<String> scriptResults) {
-        return !scriptResults.contains("Infinity");
+    private void recordEvalPhases(JSCode jsCode, JSCodeOutputSink outputSink, long evalNanos) {
+        JSCodePhases phases = jsCode.getPhases();
+        if (phases == null) {
+            return;
+        }
+        // chunks stored during capturing are counted as persistence
+        long captureNanos = outputSink.getCaptureNanos();
+        phases.setEvalNanos(Math.max(0L, evalNanos - captureNanos));
+        phases.setOutputCaptureNanos(Math.max(0L, captureNanos - outputSink.getStoreNanos()));
+    }
+
+    private void recordPersistencePhase(JSCode jsCode, JSCodeOutputSink outputSink) {
+        JSCodePhases phases = jsCode.getPhases();
+        if (phases != null) {
+            phases.setPersistenceNanos(outputSink.getStoreNanos());
+            phases.setTotalNanos(phases.getQueueWaitNanos() + System.nanoTime() - phases.getStartNanos());
+        }
     }
 }
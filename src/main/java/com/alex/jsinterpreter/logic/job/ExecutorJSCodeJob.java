@@ -1,70 +1,118 @@
 package com.alex.jsinterpreter.logic.job;
 
+import com.alex.jsinterpreter.config.JSAdmissionProperties;
+import com.alex.jsinterpreter.config.JSExecutorProperties;
+import com.alex.jsinterpreter.config.JSPriorityProperties;
 import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodePhases;
 import com.alex.jsinterpreter.document.JSCodeStatus;
-import com.alex.jsinterpreter.logic.JSMember;
+import com.alex.jsinterpreter.logic.collector.JSCodeOutputRegistry;
+import com.alex.jsinterpreter.logic.collector.JSCodeOutputSink;
+import com.alex.jsinterpreter.logic.completion.JSCodeCompletionRegistry;
 import com.alex.jsinterpreter.logic.handler.JSCodeResultHandler;
-import com.alex.jsinterpreter.logic.service.JSCodeService;
+import com.alex.jsinterpreter.logic.metrics.JSCodeExecutionMetrics;
+import com.alex.jsinterpreter.logic.pool.JSContextPool;
+import com.alex.jsinterpreter.logic.profiler.JSCodeProfiler;
+import com.alex.jsinterpreter.logic.profiler.JSProfiledContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.PolyglotException;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
-import java.time.Instant;
+import java.util.HashSet;
 import java.util.Map;
-import java.util.NoSuchElementException;
-import java.util.concurrent.*;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
- * class using responsible for managing js code jobs
+ * class using responsible for executing js code jobs on execution pool
  *
  * @author Oleksandr Myronenko
  */
 @Slf4j
 @Component
 public class ExecutorJSCodeJob {
-    private final JSCodeService jsCodeService;
-    private final Map<String, ScheduledFuture<?>> scheduledJobs;
-    private final ScheduledExecutorService threadPoolExecutor;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private final JSExecutionEngine jsExecutionEngine;
+    private final JSCodeDispatcher jsCodeDispatcher;
     private final JSCodeResultHandler jsCodeResultHandler;
+    private final JSContextPool jsContextPool;
+    private final JSCodeOutputRegistry jsCodeOutputRegistry;
+    private final JSCodeCompletionRegistry jsCodeCompletionRegistry;
+    private final JSExecutionWatchdog jsExecutionWatchdog;
+    private final JSCodeExecutionMetrics jsCodeExecutionMetrics;
+    private final JSCodeProfiler jsCodeProfiler;
+    private final Map<String, JSCodeExecution> runningExecutions = new ConcurrentHashMap<>();
+    private final Set<String> submittedJSCodeIds = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Long> queueWaitNanos = new ThreadLocal<>();
 
-    public ExecutorJSCodeJob(JSCodeService jsCodeService, JSCodeResultHandler jsCodeResultHandler) {
-        this.jsCodeService = jsCodeService;
-        this.scheduledJobs = new ConcurrentHashMap<>();
-        this.threadPoolExecutor = new ScheduledThreadPoolExecutor(Runtime.getRuntime().availableProcessors());
+    public ExecutorJSCodeJob(JSCodeResultHandler jsCodeResultHandler, JSContextPool jsContextPool,
+                             JSCodeOutputRegistry jsCodeOutputRegistry,
+                             JSCodeCompletionRegistry jsCodeCompletionRegistry,
+                             JSExecutionWatchdog jsExecutionWatchdog, JSCodeExecutionMetrics jsCodeExecutionMetrics,
+                             JSCodeProfiler jsCodeProfiler, JSAdmissionProperties admissionProperties,
+                             JSExecutorProperties executorProperties, JSPriorityProperties priorityProperties,
+                             MeterRegistry meterRegistry) {
+        this.jsExecutionEngine = new JSExecutionEngine("js-code-executor", executorProperties);
+        this.jsCodeDispatcher = new JSCodeDispatcher(jsExecutionEngine, priorityProperties,
+                admissionProperties.queueCapacity(), meterRegistry);
+        this.jsCodeExecutionMetrics = jsCodeExecutionMetrics;
+        Gauge.builder("js.executor.queue.size", jsCodeDispatcher, JSCodeDispatcher::getQueueSize)
+                .register(meterRegistry);
+        Gauge.builder("js.executor.active", jsExecutionEngine, JSExecutionEngine::getActiveCount)
+                .register(meterRegistry);
+        Gauge.builder("js.executor.utilization", jsExecutionEngine,
+                        engine -> (double) engine.getActiveCount() / engine.getParallelism())
+                .register(meterRegistry);
         this.jsCodeResultHandler = jsCodeResultHandler;
+        this.jsContextPool = jsContextPool;
+        this.jsCodeOutputRegistry = jsCodeOutputRegistry;
+        this.jsCodeCompletionRegistry = jsCodeCompletionRegistry;
+        this.jsExecutionWatchdog = jsExecutionWatchdog;
+        this.jsCodeProfiler = jsCodeProfiler;
     }
 
-
     /**
-     * using for scheduling js code job
+     * using for submitting task of js code to execution pool through weighted fair dispatcher, time of waiting
+     * in queue is counted as phase of js code executed by task
      *
-     * @param jsCode js code for scheduling
+     * @param jsCode js code which is executed by task, its priority class and tenant are used for dispatching
+     * @param task   task for execution
+     * @throws java.util.concurrent.RejectedExecutionException if queue of execution pool is full
      */
-    public void scheduleJSCodeJobById(JSCode jsCode) {
-        ScheduledFuture<?> scheduledJob = threadPoolExecutor.schedule(() -> executeJSCode(jsCode), Duration
-                .between(Instant.now(), jsCode.getScheduledTime()).toSeconds(), TimeUnit.SECONDS);
-        scheduledJobs.put(jsCode.getJsCodeId(), scheduledJob);
-        log.info("Js code was planned");
-
+    public void submit(JSCode jsCode, Runnable task) {
+        String jsCodeId = jsCode.getJsCodeId();
+        long submitted = System.nanoTime();
+        submittedJSCodeIds.add(jsCodeId);
+        try {
+            jsCodeDispatcher.dispatch(() -> {
+                queueWaitNanos.set(System.nanoTime() - submitted);
+                try {
+                    task.run();
+                } finally {
+                    queueWaitNanos.remove();
+                    submittedJSCodeIds.remove(jsCodeId);
+                }
+            }, jsCode.getPriority(), jsCode.getTenantId());
+        } catch (RuntimeException e) {
+            submittedJSCodeIds.remove(jsCodeId);
+            throw e;
+        }
     }
 
     /**
-     * using for stopping js code job by id
+     * using for getting ids of js codes which are queued or executing on this node, their leases are renewed
      *
-     * @param jsCodeId js code id
+     * @return snapshot of js code ids
      */
-    public void stopJSCodeJobById(String jsCodeId) {
-        ScheduledFuture<?> scheduledJob = scheduledJobs.get(jsCodeId);
-        if (scheduledJob == null) {
-            log.warn("scheduled job does not exist by this id -> {}", jsCodeId);
-            throw new NoSuchElementException("This job does not exist by this id " + jsCodeId);
-        }
-        scheduledJob.cancel(true);
-        scheduledJobs.remove(jsCodeId);
-        jsCodeService.updateStatus(jsCodeService.getById(jsCodeId), JSCodeStatus.STOPPED);
-        log.info("Scheduled job was stopped");
+    public Set<String> getHeldJSCodeIds() {
+        Set<String> jsCodeIds = new HashSet<>(submittedJSCodeIds);
+        jsCodeIds.addAll(runningExecutions.keySet());
+        return jsCodeIds;
     }
 
     /**
@@ -73,18 +121,132 @@ public class ExecutorJSCodeJob {
      * @param jsCode js code for execution
      */
     public void executeJSCode(JSCode jsCode) {
-        // clear all previous script results
-        jsCodeResultHandler.clearAllResults();
+        // every execution collects its own output
+        JSCodeOutputSink outputSink = jsCodeResultHandler.createOutputSink(jsCode);
+        jsCodeOutputRegistry.register(jsCode.getJsCodeId(), outputSink);
         long startExecution = 0L;
-        try (Context context = Context.newBuilder(JSMember.JS.getValue()).build()) {
+        JSCodePhases phases = startPhases();
+        jsCode.setPhases(phases);
+        long statementLimit = jsExecutionWatchdog.getStatementLimit(jsCode.getLimits());
+        // sampler slows down every context of its engine, so only profiled execution gets it with dedicated engine
+        JSProfiledContext profiledContext = Boolean.TRUE.equals(jsCode.getProfiling())
+                ? jsCodeProfiler.createContext(statementLimit) : null;
+        Context context = profiledContext != null ? profiledContext.context() : jsContextPool.acquire(statementLimit);
+        phases.setContextAcquireNanos(System.nanoTime() - phases.getStartNanos());
+        JSCodeExecution execution = jsExecutionWatchdog.createExecution(jsCode.getJsCodeId(), context,
+                jsCode.getLimits());
+        runningExecutions.put(jsCode.getJsCodeId(), execution);
+        jsExecutionWatchdog.watch(execution);
+        try {
             startExecution = System.currentTimeMillis();
-            jsCodeResultHandler.handleOutputExecutingAndUpdateJSCode(context,jsCode);
-            jsCodeService.updateExecutionTime(jsCode, System.currentTimeMillis() - startExecution);
-            log.info("JavaScriptCode was executed, get result -> {} ", jsCode.getScriptResults());
-        } catch (PolyglotException e) {
-            jsCodeService.updateExecutionTime(jsCode,
+            try {
+                jsCodeResultHandler.executeAndCollectOutput(context, jsCode, outputSink);
+            } finally {
+                collectProfile(jsCode, profiledContext);
+            }
+            // cancellation which won race with end of script already closed context and reported its status
+            JSCodeExecution.Cancellation cancellation = execution.finish();
+            if (cancellation != null) {
+                jsCodeResultHandler.handleCancellationAndUpdateJSCode(jsCode, outputSink,
+                        System.currentTimeMillis() - startExecution, cancellation.jsCodeStatus(),
+                        cancellation.reason());
+                return;
+            }
+            jsCodeResultHandler.handleOutputAndUpdateJSCode(jsCode, outputSink,
                     System.currentTimeMillis() - startExecution);
-            jsCodeResultHandler.handleExceptionsAndUpdateJSCode(e,jsCode);
+            log.info("JavaScriptCode was executed, output lines -> {} ", jsCode.getOutputLineCount());
+        } catch (RuntimeException e) {
+            // context which was closed by cancellation before eval throws IllegalStateException, so every failure
+            // gets terminal status and js code does not stay executing
+            long executionTime = System.currentTimeMillis() - startExecution;
+            JSCodeExecution.Cancellation cancellation = execution.finish();
+            if (cancellation != null) {
+                jsCodeResultHandler.handleCancellationAndUpdateJSCode(jsCode, outputSink, executionTime,
+                        cancellation.jsCodeStatus(), cancellation.reason());
+            } else if (e instanceof PolyglotException polyglotException && polyglotException.isResourceExhausted()) {
+                jsCodeResultHandler.handleCancellationAndUpdateJSCode(jsCode, outputSink, executionTime,
+                        JSCodeStatus.TIMED_OUT, jsExecutionWatchdog.getStatementLimitReason(statementLimit));
+            } else {
+                jsCodeResultHandler.handleExceptionsAndUpdateJSCode(e, jsCode, outputSink, executionTime);
+            }
+        } finally {
+            // every cleanup step runs even if previous one failed
+            try {
+                jsExecutionWatchdog.unwatch(execution);
+                runningExecutions.remove(jsCode.getJsCodeId(), execution);
+            } finally {
+                try {
+                    releaseContext(context, profiledContext);
+                } finally {
+                    try {
+                        outputSink.complete();
+                    } finally {
+                        try {
+                            jsCodeOutputRegistry.unregister(jsCode.getJsCodeId());
+                        } finally {
+                            try {
+                                jsCodeCompletionRegistry.complete(jsCode);
+                            } finally {
+                                jsCodeExecutionMetrics.record(phases, jsCode.getStatusCode());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * using for cancelling js code which is executing on this node, its context is closed and execution is
+     * finished with stopped status
+     *
+     * @param jsCodeId js code id
+     * @return true if js code was executing on this node
+     */
+    public boolean cancelExecution(String jsCodeId) {
+        JSCodeExecution execution = runningExecutions.get(jsCodeId);
+        if (execution == null || !execution.cancel(JSCodeStatus.STOPPED, null)) {
+            return false;
+        }
+        log.info("js code execution was cancelled -> {}", jsCodeId);
+        return true;
+    }
+
+    /**
+     * using for stopping executor on shutdown, running executions are finished before their state is flushed
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!jsCodeDispatcher.shutdown(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("js code executions were not finished before shutdown");
+        }
+    }
+
+    private void releaseContext(Context context, JSProfiledContext profiledContext) {
+        if (profiledContext != null) {
+            jsCodeProfiler.release(profiledContext);
+        } else {
+            jsContextPool.release(context);
         }
     }
+
+    private void collectProfile(JSCode jsCode, JSProfiledContext profiledContext) {
+        if (profiledContext == null) {
+            return;
+        }
+        try {
+            jsCode.setProfile(jsCodeProfiler.collectProfile(profiledContext));
+        } catch (RuntimeException e) {
+            // profile of cancelled execution may be lost with its context
+            log.warn("profile of js code was not collected -> {}", e.getMessage());
+        }
+    }
+
+    private JSCodePhases startPhases() {
+        JSCodePhases phases = new JSCodePhases();
+        Long queueWait = queueWaitNanos.get();
+        phases.setQueueWaitNanos(queueWait != null ? queueWait : 0L);
+        phases.setStartNanos(System.nanoTime());
+        return phases;
+    }
 }
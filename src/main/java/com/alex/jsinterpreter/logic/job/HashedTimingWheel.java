@@ -0,0 +1,189 @@
+package com.alex.jsinterpreter.logic.job;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * class represents hashed timing wheel which fires keyed tasks at their deadlines with precision of one tick.
+ * Scheduling and cancellation cost O(1), tasks are run on the ticker thread, so they must only dispatch work
+ *
+ * @author Oleksandr Myronenko
+ */
+@Slf4j
+public class HashedTimingWheel {
+    private final long tickNanos;
+    private final List<List<Timeout>> buckets;
+    private final int mask;
+    private final Map<String, Timeout> timeouts = new ConcurrentHashMap<>();
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Thread ticker;
+    private final long startNanos;
+    private final Instant startInstant;
+    private volatile boolean running = true;
+    private long tick;
+
+    public HashedTimingWheel(String name, Duration tickDuration, int wheelSize) {
+        this.tickNanos = tickDuration.toNanos();
+        int normalizedWheelSize = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.mask = normalizedWheelSize - 1;
+        this.buckets = new ArrayList<>(normalizedWheelSize);
+        for (int i = 0; i < normalizedWheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.startNanos = System.nanoTime();
+        this.startInstant = Instant.now();
+        this.ticker = new Thread(this::work, name);
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+    }
+
+    /**
+     * using for scheduling task by key, task with the same key is replaced
+     *
+     * @param key      key of task
+     * @param deadline time of firing task, task with past deadline is fired on the next tick
+     * @param task     task for firing
+     */
+    public void schedule(String key, Instant deadline, Runnable task) {
+        long deadlineNanos = Duration.between(startInstant, deadline).toNanos();
+        Timeout timeout = new Timeout(key, deadlineNanos, task);
+        Timeout previous = timeouts.put(key, timeout);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        pendingTimeouts.add(timeout);
+    }
+
+    /**
+     * using for cancellation task by key
+     *
+     * @param key key of task
+     * @return true if task was scheduled and not fired yet
+     */
+    public boolean cancel(String key) {
+        Timeout timeout = timeouts.remove(key);
+        if (timeout == null) {
+            return false;
+        }
+        timeout.cancelled = true;
+        return true;
+    }
+
+    /**
+     * using for checking whether task is scheduled
+     *
+     * @param key key of task
+     * @return true if task is scheduled and not fired yet
+     */
+    public boolean contains(String key) {
+        return timeouts.containsKey(key);
+    }
+
+    /**
+     * using for getting keys of scheduled tasks
+     *
+     * @return snapshot of keys of tasks which are not fired yet
+     */
+    public Set<String> keys() {
+        return Set.copyOf(timeouts.keySet());
+    }
+
+    /**
+     * using for getting count of scheduled tasks
+     *
+     * @return count of scheduled tasks
+     */
+    public int size() {
+        return timeouts.size();
+    }
+
+    /**
+     * using for stopping ticker thread, not fired tasks are dropped
+     */
+    public void stop() {
+        running = false;
+        ticker.interrupt();
+    }
+
+    private void work() {
+        while (running) {
+            long deadline = tickNanos * (tick + 1);
+            long sleepNanos = deadline - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                }
+                continue;
+            }
+            transferPendingTimeouts();
+            expireTimeouts(buckets.get((int) (tick & mask)));
+            tick++;
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long calculatedTick = Math.max(timeout.deadlineNanos / tickNanos, tick);
+            timeout.remainingRounds = (calculatedTick - tick) / buckets.size();
+            buckets.get((int) (calculatedTick & mask)).add(timeout);
+        }
+    }
+
+    private void expireTimeouts(List<Timeout> bucket) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.cancelled) {
+                iterator.remove();
+            } else if (timeout.remainingRounds <= 0) {
+                iterator.remove();
+                if (timeouts.remove(timeout.key, timeout)) {
+                    fire(timeout);
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    private void fire(Timeout timeout) {
+        try {
+            timeout.task.run();
+        } catch (RuntimeException e) {
+            log.error("task of timing wheel failed -> {}", timeout.key, e);
+        }
+    }
+
+    private static final class Timeout {
+        private final String key;
+        private final long deadlineNanos;
+        private final Runnable task;
+        private volatile boolean cancelled;
+        private long remainingRounds;
+
+        private Timeout(String key, long deadlineNanos, Runnable task) {
+            this.key = key;
+            this.deadlineNanos = deadlineNanos;
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.alex.jsinterpreter.logic.job;
+
+import com.alex.jsinterpreter.config.JSPriorityProperties;
+import com.alex.jsinterpreter.document.JSCodePriority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * class represents weighted fair queue in front of execution pool. Every pair of priority class and tenant is
+ * a separate flow, queued task gets virtual finish tag which grows by inverse weight of its class, and task with
+ * the smallest tag is handed to pool when it has free thread or free place in its short queue. So big backlog of
+ * one tenant or of bulk class does not delay interactive js codes, and tenants of one class share pool equally
+ *
+ * @author Oleksandr Myronenko
+ */
+@Slf4j
+public class JSCodeDispatcher {
+    private final JSExecutionEngine jsExecutionEngine;
+    private final JSPriorityProperties properties;
+    private final int queueCapacity;
+    private final PriorityQueue<QueuedTask> queuedTasks = new PriorityQueue<>();
+    private final Map<Flow, FlowState> flows = new HashMap<>();
+    private final int[] queuedTasksByPriority = new int[JSCodePriority.values().length];
+    private final Map<JSCodePriority, Timer> waitTimers = new EnumMap<>(JSCodePriority.class);
+    private double virtualTime;
+    private long sequence;
+    private int handedTasks;
+
+    public JSCodeDispatcher(JSExecutionEngine jsExecutionEngine, JSPriorityProperties properties, int queueCapacity,
+                            MeterRegistry meterRegistry) {
+        this.jsExecutionEngine = jsExecutionEngine;
+        this.properties = properties;
+        this.queueCapacity = queueCapacity;
+        for (JSCodePriority priority : JSCodePriority.values()) {
+            String priorityTag = priority.name().toLowerCase();
+            waitTimers.put(priority, Timer.builder("js.dispatcher.queue.wait")
+                    .description("time spent by js code in dispatcher queue")
+                    .tag("priority", priorityTag)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry));
+            Gauge.builder("js.dispatcher.queue.size", this, dispatcher -> dispatcher.getQueueSize(priority))
+                    .tag("priority", priorityTag)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * using for queueing task, task is handed to execution pool in weighted fair order
+     *
+     * @param task     task for execution
+     * @param priority priority class of task, normal one is used if it is null
+     * @param tenantId optional tenant of task, tasks without tenant share one flow of their class
+     * @throws RejectedExecutionException if count of queued tasks reached queue capacity
+     */
+    public void dispatch(Runnable task, JSCodePriority priority, String tenantId) {
+        JSCodePriority taskPriority = priority != null ? priority : JSCodePriority.NORMAL;
+        synchronized (this) {
+            if (queuedTasks.size() >= queueCapacity) {
+                throw new RejectedExecutionException("Execution queue is full");
+            }
+            Flow flow = new Flow(taskPriority, tenantId);
+            FlowState flowState = flows.computeIfAbsent(flow, key -> new FlowState());
+            // idle flow starts from current virtual time, so it does not get credit for time it was idle
+            flowState.lastFinishTag = Math.max(virtualTime, flowState.lastFinishTag)
+                    + 1.0 / properties.getWeight(taskPriority);
+            flowState.queuedTasks++;
+            queuedTasksByPriority[taskPriority.ordinal()]++;
+            queuedTasks.add(new QueuedTask(task, flow, flowState.lastFinishTag, sequence++, System.nanoTime()));
+        }
+        drain();
+    }
+
+    /**
+     * using for getting count of queued tasks
+     *
+     * @return count of tasks waiting for free thread of execution pool
+     */
+    public synchronized int getQueueSize() {
+        return queuedTasks.size();
+    }
+
+    /**
+     * using for getting count of queued tasks of priority class
+     *
+     * @param priority priority class
+     * @return count of tasks of class waiting for free thread of execution pool
+     */
+    public synchronized int getQueueSize(JSCodePriority priority) {
+        return queuedTasksByPriority[priority.ordinal()];
+    }
+
+    /**
+     * using for stopping dispatcher, queued tasks are executed during timeout and pool is stopped after it
+     *
+     * @param timeout maximum time of waiting for queued and running tasks
+     * @param unit    unit of timeout
+     * @return true if all tasks were finished
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this) {
+            long remainingNanos;
+            while ((!queuedTasks.isEmpty() || handedTasks > 0)
+                    && (remainingNanos = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+            }
+            if (!queuedTasks.isEmpty()) {
+                log.warn("queued js codes were not dispatched before shutdown -> {}", queuedTasks.size());
+            }
+        }
+        return jsExecutionEngine.shutdown(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    private void drain() {
+        while (true) {
+            QueuedTask queuedTask;
+            synchronized (this) {
+                if (queuedTasks.isEmpty() || handedTasks >= jsExecutionEngine.getCapacity()) {
+                    return;
+                }
+                queuedTask = queuedTasks.poll();
+                virtualTime = queuedTask.finishTag();
+                FlowState flowState = flows.get(queuedTask.flow());
+                if (--flowState.queuedTasks == 0) {
+                    // tag of empty flow is not above virtual time, so its state is not needed anymore
+                    flows.remove(queuedTask.flow());
+                }
+                queuedTasksByPriority[queuedTask.flow().priority().ordinal()]--;
+                handedTasks++;
+            }
+            try {
+                jsExecutionEngine.execute(() -> run(queuedTask));
+            } catch (RejectedExecutionException e) {
+                log.warn("execution pool is shut down, queued js code is dropped");
+                finish();
+                return;
+            }
+        }
+    }
+
+    private void run(QueuedTask queuedTask) {
+        waitTimers.get(queuedTask.flow().priority())
+                .record(System.nanoTime() - queuedTask.queuedNanos(), TimeUnit.NANOSECONDS);
+        try {
+            queuedTask.task().run();
+        } finally {
+            finish();
+            drain();
+        }
+    }
+
+    private synchronized void finish() {
+        handedTasks--;
+        notifyAll();
+    }
+
+    private record Flow(JSCodePriority priority, String tenantId) {
+    }
+
+    private static class FlowState {
+        private double lastFinishTag;
+        private int queuedTasks;
+    }
+
+    private record QueuedTask(Runnable task, Flow flow, double finishTag, long sequence, long queuedNanos)
+            implements Comparable<QueuedTask> {
+        @Override
+        public int compareTo(QueuedTask other) {
+            int byTag = Double.compare(finishTag, other.finishTag);
+            return byTag != 0 ? byTag : Long.compare(sequence, other.sequence);
+        }
+    }
+}
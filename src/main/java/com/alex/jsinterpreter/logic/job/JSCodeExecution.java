@@ -0,0 +1,94 @@
+package com.alex.jsinterpreter.logic.job;
+
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.graalvm.polyglot.Context;
+
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * class represents js code which is executing on this node right now. Outcome of execution is decided only once,
+ * either it is cancelled or it is finished by its thread, so cancellation which comes after end of script does not
+ * report status which is different from persisted one
+ *
+ * @author Oleksandr Myronenko
+ */
+@Slf4j
+@Getter
+public class JSCodeExecution {
+    private final String jsCodeId;
+    private final Context context;
+    private final Thread thread;
+    private final long timeoutMillis;
+    private final long allocationLimitBytes;
+    private final long startAllocatedBytes;
+    private Cancellation cancellation;
+    private boolean finished;
+    private volatile ScheduledFuture<?> timeoutFuture;
+
+    public JSCodeExecution(String jsCodeId, Context context, Thread thread, long timeoutMillis,
+                           long allocationLimitBytes, long startAllocatedBytes) {
+        this.jsCodeId = jsCodeId;
+        this.context = context;
+        this.thread = thread;
+        this.timeoutMillis = timeoutMillis;
+        this.allocationLimitBytes = allocationLimitBytes;
+        this.startAllocatedBytes = startAllocatedBytes;
+    }
+
+    /**
+     * using for forcible cancellation of execution, its context is closed from current thread
+     *
+     * @param jsCodeStatus terminal status of cancelled js code
+     * @param reason       optional reason which is added to output
+     * @return true if execution was cancelled by this call, false if it is already cancelled or finished
+     */
+    public boolean cancel(JSCodeStatus jsCodeStatus, String reason) {
+        synchronized (this) {
+            if (finished || cancellation != null) {
+                return false;
+            }
+            cancellation = new Cancellation(jsCodeStatus, reason);
+        }
+        try {
+            context.close(true);
+        } catch (IllegalStateException e) {
+            // outcome is already decided, execution thread reports cancellation when script returns
+            log.warn("js code execution can not be cancelled -> {}", e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * using for finishing execution by its thread, cancellation which comes after it is ignored
+     *
+     * @return cancellation which came before or null if execution finished by itself
+     */
+    public synchronized Cancellation finish() {
+        finished = true;
+        return cancellation;
+    }
+
+    /**
+     * using for getting cancellation of execution
+     *
+     * @return cancellation or null if execution was not cancelled
+     */
+    public synchronized Cancellation getCancellation() {
+        return cancellation;
+    }
+
+    void setTimeoutFuture(ScheduledFuture<?> timeoutFuture) {
+        this.timeoutFuture = timeoutFuture;
+    }
+
+    /**
+     * cancellation of execution
+     *
+     * @param jsCodeStatus terminal status of cancelled js code
+     * @param reason       optional reason which is added to output
+     */
+    public record Cancellation(JSCodeStatus jsCodeStatus, String reason) {
+    }
+}
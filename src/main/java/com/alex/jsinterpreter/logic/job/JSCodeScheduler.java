@@ -0,0 +1,312 @@
+package com.alex.jsinterpreter.logic.job;
+
+import com.alex.jsinterpreter.config.JSAdmissionProperties;
+import com.alex.jsinterpreter.config.JSClusterProperties;
+import com.alex.jsinterpreter.config.JSSchedulerProperties;
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import com.alex.jsinterpreter.logic.admission.JSCodeAdmissionController;
+import com.alex.jsinterpreter.logic.cluster.JSClusterNode;
+import com.alex.jsinterpreter.logic.completion.JSCodeCompletionRegistry;
+import com.alex.jsinterpreter.repository.JSCodeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * class responsible for scheduling planned js codes. Planned js codes live only in database, poller loads
+ * js codes which are scheduled inside lookahead window to timing wheel, and every fired js code is atomically
+ * claimed before execution, so jobs survive restarts and only imminent ones are kept in memory. Several nodes may
+ * share one database, every node takes leases of imminent js codes and renews them by heartbeat, so js code is
+ * executed only by its owner and is taken over by another node when owner dies
+ *
+ * @author Oleksandr Myronenko
+ */
+@Slf4j
+@Component
+public class JSCodeScheduler {
+    private final JSCodeRepository jsCodeRepository;
+    private final ExecutorJSCodeJob executorJSCodeJob;
+    private final JSSchedulerProperties properties;
+    private final JSClusterNode jsClusterNode;
+    private final JSClusterProperties clusterProperties;
+    private final JSCodeAdmissionController jsCodeAdmissionController;
+    private final JSAdmissionProperties admissionProperties;
+    private final JSCodeCompletionRegistry jsCodeCompletionRegistry;
+    private final Counter rejectedDispatches;
+    private final Timer fireDrift;
+    private final Timer startDrift;
+    private final HashedTimingWheel timingWheel;
+    private final ScheduledExecutorService poller;
+
+    public JSCodeScheduler(JSCodeRepository jsCodeRepository, ExecutorJSCodeJob executorJSCodeJob,
+                           JSSchedulerProperties properties, JSClusterNode jsClusterNode,
+                           JSClusterProperties clusterProperties,
+                           JSCodeAdmissionController jsCodeAdmissionController,
+                           JSAdmissionProperties admissionProperties,
+                           JSCodeCompletionRegistry jsCodeCompletionRegistry, MeterRegistry meterRegistry) {
+        this.jsCodeRepository = jsCodeRepository;
+        this.executorJSCodeJob = executorJSCodeJob;
+        this.properties = properties;
+        this.jsClusterNode = jsClusterNode;
+        this.clusterProperties = clusterProperties;
+        this.jsCodeAdmissionController = jsCodeAdmissionController;
+        this.admissionProperties = admissionProperties;
+        this.jsCodeCompletionRegistry = jsCodeCompletionRegistry;
+        this.rejectedDispatches = meterRegistry.counter("js.scheduler.dispatch.rejected");
+        this.fireDrift = Timer.builder("js.scheduler.fire.drift")
+                .description("delay between scheduled time of js code and firing of its timer")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.startDrift = Timer.builder("js.scheduler.start.drift")
+                .description("delay between scheduled time of js code and start of its execution")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.timingWheel = new HashedTimingWheel("js-code-timing-wheel", properties.tickDuration(),
+                properties.wheelSize());
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "js-code-scheduler-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("js.scheduler.scheduled.jobs", timingWheel, HashedTimingWheel::size).register(meterRegistry);
+    }
+
+    /**
+     * using for starting polling of planned js codes and heartbeat of leases, leases which this node held before
+     * restart are released first
+     */
+    @PostConstruct
+    public void start() {
+        poller.execute(this::releaseStaleLeases);
+        poller.scheduleWithFixedDelay(this::pollPlannedJSCodes, 0, properties.pollInterval().toMillis(),
+                TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::heartbeat, clusterProperties.heartbeatInterval().toMillis(),
+                clusterProperties.heartbeatInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * using for scheduling js code which is already saved as planned, js code scheduled outside of lookahead
+     * window is left in database and will be loaded by poller of any node
+     *
+     * @param jsCode js code for scheduling
+     */
+    public void scheduleJSCodeJob(JSCode jsCode) {
+        if (jsClusterNode.isOwner(jsCode)) {
+            scheduleInTimingWheel(jsCode);
+        }
+        log.info("Js code was planned");
+    }
+
+    /**
+     * using for submitting js code which is already saved as planned and leased by this node to execution pool
+     * right away, js code is claimed before execution, so stopped one is not executed
+     *
+     * @param jsCode js code for submission
+     * @param permit admission permit which is released when execution is finished
+     */
+    public void submitJSCodeJob(JSCode jsCode, JSCodeAdmissionController.Permit permit) {
+        String jsCodeId = jsCode.getJsCodeId();
+        dispatch(jsCode, () -> {
+            try {
+                claimAndExecute(jsCodeId);
+            } finally {
+                jsCodeAdmissionController.release(permit);
+            }
+        });
+        log.info("Js code was submitted");
+    }
+
+    /**
+     * using for submitting js code which is already saved as planned and leased by this node to execution pool
+     * when caller waits for its result, js code is claimed and executed in place, so its status is read from it
+     * after returned future is completed. Full execution queue delays dispatch instead of executing js code by caller
+     *
+     * @param jsCode js code for submission
+     * @param permit admission permit which is released when execution is finished
+     * @return future which is completed when execution is finished or js code was not claimed
+     */
+    public CompletableFuture<Void> executeJSCodeJob(JSCode jsCode, JSCodeAdmissionController.Permit permit) {
+        CompletableFuture<Void> execution = new CompletableFuture<>();
+        dispatch(jsCode, () -> {
+            try {
+                if (claimJSCode(jsCode)) {
+                    executorJSCodeJob.executeJSCode(jsCode);
+                }
+            } finally {
+                jsCodeAdmissionController.release(permit);
+                execution.complete(null);
+            }
+        });
+        return execution;
+    }
+
+    /**
+     * using for claiming planned js code which is leased by this node before its execution by caller, so stop
+     * which comes before claim is not overwritten by execution
+     *
+     * @param jsCode planned js code, its status becomes executing if it is claimed
+     * @return true if js code was claimed and must be executed
+     */
+    public boolean claimJSCode(JSCode jsCode) {
+        Optional<JSCode> claimedJSCode = jsCodeRepository.claimPlanned(jsCode.getJsCodeId(),
+                jsClusterNode.getNodeId(), jsClusterNode.nextLeaseExpiration());
+        if (claimedJSCode.isEmpty()) {
+            log.info("planned job was already claimed or stopped -> {}", jsCode.getJsCodeId());
+            return false;
+        }
+        jsCode.setStatusCode(JSCodeStatus.EXECUTING);
+        jsCode.setLeaseExpiresAt(claimedJSCode.get().getLeaseExpiresAt());
+        return true;
+    }
+
+    /**
+     * using for checking whether js code should be leased by node which creates it, because it is scheduled
+     * inside lookahead window
+     *
+     * @param scheduledTime scheduled time of js code
+     * @return true if js code is imminent
+     */
+    public boolean isImminent(Instant scheduledTime) {
+        return !scheduledTime.isAfter(Instant.now().plus(properties.lookahead()));
+    }
+
+    /**
+     * using for stopping js code job by id, planned job is stopped at once, executing job is cancelled
+     * by its owner node
+     *
+     * @param jsCodeId js code id
+     */
+    public void stopJSCodeJobById(String jsCodeId) {
+        Optional<JSCode> stoppedJSCode = jsCodeRepository.stopPlanned(jsCodeId);
+        if (stoppedJSCode.isPresent()) {
+            // job is left in timing wheel, it is not claimed when it fires, so admission permit of submitted
+            // job is still released
+            jsCodeCompletionRegistry.complete(stoppedJSCode.get());
+            log.info("Scheduled job was stopped");
+            return;
+        }
+        Optional<JSCode> executingJSCode = jsCodeRepository.requestStop(jsCodeId);
+        if (executingJSCode.isEmpty()) {
+            log.warn("planned or executing job does not exist by this id -> {}", jsCodeId);
+            throw new NoSuchElementException("This job does not exist by this id " + jsCodeId);
+        }
+        if (jsClusterNode.isOwner(executingJSCode.get())) {
+            executorJSCodeJob.cancelExecution(jsCodeId);
+        }
+        log.info("Stop of executing job was requested");
+    }
+
+    /**
+     * using for stopping timing wheel and poller on shutdown, planned js codes stay in database
+     */
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+        timingWheel.stop();
+    }
+
+    private void pollPlannedJSCodes() {
+        try {
+            Instant until = Instant.now().plus(properties.lookahead());
+            for (int i = 0; i < properties.batchSize(); i++) {
+                Optional<JSCode> leasedJSCode = jsCodeRepository.claimLease(until, jsClusterNode.getNodeId(),
+                        jsClusterNode.nextLeaseExpiration());
+                if (leasedJSCode.isEmpty()) {
+                    return;
+                }
+                scheduleInTimingWheel(leasedJSCode.get());
+            }
+        } catch (RuntimeException e) {
+            log.warn("planned js codes were not polled -> {}", e.getMessage());
+        }
+    }
+
+    private void releaseStaleLeases() {
+        try {
+            // node with stable id may own documents of its previous run, which are not held in memory anymore
+            long releasedJSCodes = jsCodeRepository.releasePlannedLeases(jsClusterNode.getNodeId());
+            long failedJSCodes = jsCodeRepository.failExecutions(jsClusterNode.getNodeId());
+            if (releasedJSCodes > 0 || failedJSCodes > 0) {
+                log.warn("leases of previous run were released -> {}, its executions were failed -> {}",
+                        releasedJSCodes, failedJSCodes);
+            }
+        } catch (RuntimeException e) {
+            log.warn("leases of previous run were not released -> {}", e.getMessage());
+        }
+    }
+
+    private void heartbeat() {
+        try {
+            // only js codes held in memory are renewed, so lease of lost job expires and it is taken over
+            Set<String> heldJSCodeIds = new HashSet<>(timingWheel.keys());
+            heldJSCodeIds.addAll(executorJSCodeJob.getHeldJSCodeIds());
+            jsCodeRepository.renewLeases(jsClusterNode.getNodeId(), heldJSCodeIds,
+                    jsClusterNode.nextLeaseExpiration());
+            // executions of dead nodes can not be resumed, their output is incomplete
+            List<JSCode> failedJSCodes = jsCodeRepository.failExpiredExecutions(Instant.now());
+            if (!failedJSCodes.isEmpty()) {
+                failedJSCodes.forEach(jsCodeCompletionRegistry::complete);
+                log.warn("executions of dead nodes were failed -> {}", failedJSCodes.size());
+            }
+            jsCodeRepository.findStopRequested(jsClusterNode.getNodeId())
+                    .forEach(jsCode -> executorJSCodeJob.cancelExecution(jsCode.getJsCodeId()));
+        } catch (RuntimeException e) {
+            log.warn("heartbeat of leases failed -> {}", e.getMessage());
+        }
+    }
+
+    private void scheduleInTimingWheel(JSCode jsCode) {
+        String jsCodeId = jsCode.getJsCodeId();
+        Instant scheduledTime = jsCode.getScheduledTime();
+        timingWheel.schedule(jsCodeId, scheduledTime, () -> {
+            recordDrift(fireDrift, scheduledTime);
+            dispatch(jsCode, () -> {
+                recordDrift(startDrift, scheduledTime);
+                claimAndExecute(jsCodeId);
+            });
+        });
+    }
+
+    private void dispatch(JSCode jsCode, Runnable task) {
+        String jsCodeId = jsCode.getJsCodeId();
+        try {
+            executorJSCodeJob.submit(jsCode, task);
+        } catch (RejectedExecutionException e) {
+            // job is kept leased by this node and dispatched again when execution queue has room
+            rejectedDispatches.increment();
+            log.warn("execution queue is full, job dispatch is retried -> {}", jsCodeId);
+            timingWheel.schedule(jsCodeId, Instant.now().plus(admissionProperties.retryAfter()),
+                    () -> dispatch(jsCode, task));
+        }
+    }
+
+    private void recordDrift(Timer timer, Instant scheduledTime) {
+        // js code loaded after its scheduled time is fired at once, its delay is counted as drift too
+        timer.record(Math.max(0L, Duration.between(scheduledTime, Instant.now()).toNanos()), TimeUnit.NANOSECONDS);
+    }
+
+    private void claimAndExecute(String jsCodeId) {
+        jsCodeRepository.claimPlanned(jsCodeId, jsClusterNode.getNodeId(), jsClusterNode.nextLeaseExpiration())
+                .ifPresentOrElse(executorJSCodeJob::executeJSCode,
+                        () -> log.info("planned job was already claimed or stopped -> {}", jsCodeId));
+    }
+}
@@ -0,0 +1,132 @@
+package com.alex.jsinterpreter.logic.job;
+
+import com.alex.jsinterpreter.config.JSExecutorProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * class represents bounded pool which executes js codes. Pool is either fixed thread pool with one shared queue
+ * or work-stealing fork join pool. Dispatcher hands pool its threads and queue depth worth of tasks, so queued
+ * tasks are there to be taken by idle thread as soon as it is free
+ *
+ * @author Oleksandr Myronenko
+ */
+@Slf4j
+public class JSExecutionEngine {
+    private final ExecutorService executorService;
+    private final int parallelism;
+    private final int queueDepth;
+    private final int queueCapacity;
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+    private final AtomicInteger activeTasks = new AtomicInteger();
+
+    public JSExecutionEngine(String name, JSExecutorProperties properties) {
+        this.parallelism = properties.parallelism() > 0 ? properties.parallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.queueDepth = Math.max(0, properties.queueDepth());
+        // thread which hands next task from its finally block is still busy, so every thread may add one task
+        this.queueCapacity = parallelism + queueDepth;
+        AtomicInteger threadNumber = new AtomicInteger();
+        if (properties.type() == JSExecutorProperties.Type.FORK_JOIN) {
+            // async mode keeps FIFO order of handed js codes, idle threads steal tasks of busy ones
+            this.executorService = new ForkJoinPool(parallelism, pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName(name + "-" + threadNumber.incrementAndGet());
+                return thread;
+            }, null, true);
+        } else {
+            this.executorService = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> new Thread(runnable, name + "-" + threadNumber.incrementAndGet()));
+        }
+        log.info("js execution engine was created, type -> {}, parallelism -> {}, queue depth -> {}",
+                properties.type(), parallelism, queueDepth);
+    }
+
+    /**
+     * using for submitting task to pool
+     *
+     * @param task task for execution
+     * @throws RejectedExecutionException if count of waiting tasks reached queue capacity or pool is shut down
+     */
+    public void execute(Runnable task) {
+        if (queuedTasks.incrementAndGet() > queueCapacity) {
+            queuedTasks.decrementAndGet();
+            throw new RejectedExecutionException("Execution queue is full");
+        }
+        try {
+            executorService.execute(() -> {
+                queuedTasks.decrementAndGet();
+                activeTasks.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    activeTasks.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queuedTasks.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * using for getting count of tasks waiting for thread
+     *
+     * @return count of queued tasks
+     */
+    public int getQueueSize() {
+        return queuedTasks.get();
+    }
+
+    /**
+     * using for getting count of tasks which are executed right now
+     *
+     * @return count of active tasks
+     */
+    public int getActiveCount() {
+        return activeTasks.get();
+    }
+
+    /**
+     * using for getting count of threads of pool
+     *
+     * @return parallelism of pool
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * using for getting count of tasks which pool accepts from dispatcher at once
+     *
+     * @return parallelism of pool plus its queue depth
+     */
+    public int getCapacity() {
+        return parallelism + queueDepth;
+    }
+
+    /**
+     * using for stopping pool, submitted tasks are finished during timeout and interrupted after it
+     *
+     * @param timeout maximum time of waiting for submitted tasks
+     * @param unit    unit of timeout
+     * @return true if all tasks were finished
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        executorService.shutdown();
+        if (executorService.awaitTermination(timeout, unit)) {
+            return true;
+        }
+        executorService.shutdownNow();
+        return false;
+    }
+}
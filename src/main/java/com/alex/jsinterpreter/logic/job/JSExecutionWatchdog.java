@@ -0,0 +1,184 @@
+package com.alex.jsinterpreter.logic.job;
+
+import com.alex.jsinterpreter.config.JSExecutionLimitsProperties;
+import com.alex.jsinterpreter.document.JSCodeLimits;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.graalvm.polyglot.Context;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * class responsible for enforcing budgets of js code executions. Execution which exceeds its wall-clock time is
+ * cancelled with timed out status. Graal CE does not limit heap of context, so execution gets budget of
+ * allocation instead, all bytes allocated by executing thread are counted even if they are already garbage, and
+ * they are checked periodically
+ *
+ * @author Oleksandr Myronenko
+ */
+@Slf4j
+@Component
+public class JSExecutionWatchdog {
+    private static final String TIMEOUT_REASON = "Execution exceeded time limit of %d ms";
+    private static final String STATEMENT_LIMIT_REASON = "Execution exceeded statement limit of %d";
+    private static final String ALLOCATION_LIMIT_REASON = "Execution exceeded allocation limit of %d bytes";
+    private final JSExecutionLimitsProperties properties;
+    private final ScheduledExecutorService watchdog;
+    private final Set<JSCodeExecution> allocationLimitedExecutions = ConcurrentHashMap.newKeySet();
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    private final boolean allocatedMemorySupported;
+    private final Counter timeouts;
+    private final Counter allocationLimitExceeded;
+
+    public JSExecutionWatchdog(JSExecutionLimitsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "js-execution-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.allocatedMemorySupported = threadMXBean.isThreadAllocatedMemorySupported()
+                && threadMXBean.isThreadAllocatedMemoryEnabled();
+        if (!allocatedMemorySupported) {
+            log.warn("allocated memory of thread is not measured by runtime, allocation limit will not be enforced");
+        }
+        this.timeouts = meterRegistry.counter("js.execution.limit.exceeded", "limit", "timeout");
+        this.allocationLimitExceeded = meterRegistry.counter("js.execution.limit.exceeded", "limit", "allocation");
+    }
+
+    /**
+     * using for starting periodic check of allocated bytes
+     */
+    @PostConstruct
+    public void start() {
+        long intervalMillis = properties.allocationCheckInterval().toMillis();
+        watchdog.scheduleAtFixedRate(this::checkAllocationLimits, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * using for getting statement limit of js code
+     *
+     * @param limits optional requested limits of js code
+     * @return count of statements or zero if it is not limited
+     */
+    public long getStatementLimit(JSCodeLimits limits) {
+        return limits != null && limits.getStatementLimit() != null ? limits.getStatementLimit()
+                : properties.defaultStatementLimit();
+    }
+
+    /**
+     * using for getting reason of exceeded statement limit
+     *
+     * @param statementLimit count of statements
+     * @return reason which is added to output
+     */
+    public String getStatementLimitReason(long statementLimit) {
+        return STATEMENT_LIMIT_REASON.formatted(statementLimit);
+    }
+
+    /**
+     * using for creating execution of js code on current thread with its resolved budgets
+     *
+     * @param jsCodeId js code id
+     * @param context  context of execution
+     * @param limits   optional requested limits of js code
+     * @return execution of js code
+     */
+    public JSCodeExecution createExecution(String jsCodeId, Context context,
+                                           JSCodeLimits limits) {
+        Thread thread = Thread.currentThread();
+        long timeoutMillis = getTimeoutMillis(limits);
+        long allocationLimitBytes = limits != null && limits.getAllocationLimitBytes() != null
+                ? limits.getAllocationLimitBytes() : properties.defaultAllocationLimit().toBytes();
+        return new JSCodeExecution(jsCodeId, context, thread, timeoutMillis, allocationLimitBytes,
+                allocationLimitBytes > 0 ? getAllocatedBytes(thread) : 0L);
+    }
+
+    /**
+     * using for getting bytes allocated by thread since its start
+     *
+     * @param thread thread of execution
+     * @return allocated bytes or zero if runtime does not measure them
+     */
+    public long getAllocatedBytes(Thread thread) {
+        return allocatedMemorySupported ? threadMXBean.getThreadAllocatedBytes(thread.getId()) : 0L;
+    }
+
+    /**
+     * using for watching budgets of started execution
+     *
+     * @param execution execution of js code
+     */
+    public void watch(JSCodeExecution execution) {
+        if (execution.getTimeoutMillis() > 0) {
+            ScheduledFuture<?> timeoutFuture = watchdog.schedule(() -> {
+                if (execution.cancel(JSCodeStatus.TIMED_OUT, TIMEOUT_REASON.formatted(execution.getTimeoutMillis()))) {
+                    timeouts.increment();
+                    log.warn("js code execution timed out -> {}", execution.getJsCodeId());
+                }
+            }, execution.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+            execution.setTimeoutFuture(timeoutFuture);
+        }
+        if (execution.getAllocationLimitBytes() > 0 && allocatedMemorySupported) {
+            allocationLimitedExecutions.add(execution);
+        }
+    }
+
+    /**
+     * using for stopping watching of finished execution, budget which is exceeded after it does not cancel it
+     *
+     * @param execution execution of js code
+     */
+    public void unwatch(JSCodeExecution execution) {
+        execution.finish();
+        ScheduledFuture<?> timeoutFuture = execution.getTimeoutFuture();
+        if (timeoutFuture != null) {
+            timeoutFuture.cancel(false);
+        }
+        allocationLimitedExecutions.remove(execution);
+    }
+
+    /**
+     * using for stopping watchdog on shutdown
+     */
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+    }
+
+    private long getTimeoutMillis(JSCodeLimits limits) {
+        long maxTimeoutMillis = properties.maxTimeout().toMillis();
+        long timeoutMillis = limits != null && limits.getTimeoutMillis() != null ? limits.getTimeoutMillis()
+                : properties.defaultTimeout().toMillis();
+        if (maxTimeoutMillis > 0 && (timeoutMillis <= 0 || timeoutMillis > maxTimeoutMillis)) {
+            return maxTimeoutMillis;
+        }
+        return timeoutMillis;
+    }
+
+    private void checkAllocationLimits() {
+        for (JSCodeExecution execution : allocationLimitedExecutions) {
+            long allocatedBytes = threadMXBean.getThreadAllocatedBytes(execution.getThread().getId())
+                    - execution.getStartAllocatedBytes();
+            long allocationLimitBytes = execution.getAllocationLimitBytes();
+            if (allocatedBytes > allocationLimitBytes
+                    && execution.cancel(JSCodeStatus.FAILED, ALLOCATION_LIMIT_REASON.formatted(allocationLimitBytes))) {
+                allocationLimitExceeded.increment();
+                log.warn("js code execution exceeded allocation limit -> {}", execution.getJsCodeId());
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.alex.jsinterpreter.logic.metrics;
+
+import com.alex.jsinterpreter.document.JSCodePhases;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * class responsible for recording latency histograms of js code execution phases tagged by outcome status
+ *
+ * @author Oleksandr Myronenko
+ */
+@Component
+public class JSCodeExecutionMetrics {
+    private static final String PHASE_TIMER = "js.execution.phase";
+    private static final String PHASE_TAG = "phase";
+    private static final String STATUS_TAG = "status";
+    private final MeterRegistry meterRegistry;
+    private final Map<JSCodeStatus, PhaseTimers> phaseTimers = new ConcurrentHashMap<>();
+
+    public JSCodeExecutionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * using for recording phases of finished execution
+     *
+     * @param phases       phases of execution
+     * @param jsCodeStatus outcome status of execution
+     */
+    public void record(JSCodePhases phases, JSCodeStatus jsCodeStatus) {
+        PhaseTimers timers = phaseTimers.computeIfAbsent(jsCodeStatus, this::createPhaseTimers);
+        timers.queueWait().record(phases.getQueueWaitNanos(), TimeUnit.NANOSECONDS);
+        timers.contextAcquire().record(phases.getContextAcquireNanos(), TimeUnit.NANOSECONDS);
+        timers.eval().record(phases.getEvalNanos(), TimeUnit.NANOSECONDS);
+        timers.outputCapture().record(phases.getOutputCaptureNanos(), TimeUnit.NANOSECONDS);
+        timers.persistence().record(phases.getPersistenceNanos(), TimeUnit.NANOSECONDS);
+        timers.total().record(phases.getTotalNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private PhaseTimers createPhaseTimers(JSCodeStatus jsCodeStatus) {
+        return new PhaseTimers(createTimer("queue_wait", jsCodeStatus), createTimer("context_acquire", jsCodeStatus),
+                createTimer("eval", jsCodeStatus), createTimer("output_capture", jsCodeStatus),
+                createTimer("persistence", jsCodeStatus), createTimer("total", jsCodeStatus));
+    }
+
+    private Timer createTimer(String phase, JSCodeStatus jsCodeStatus) {
+        return Timer.builder(PHASE_TIMER)
+                .description("time of js code execution phase")
+                .tag(PHASE_TAG, phase)
+                .tag(STATUS_TAG, jsCodeStatus.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record PhaseTimers(Timer queueWait, Timer contextAcquire, Timer eval, Timer outputCapture,
+                               Timer persistence, Timer total) {
+    }
+}
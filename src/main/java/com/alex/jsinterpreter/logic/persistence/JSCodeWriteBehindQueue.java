@@ -0,0 +1,134 @@
+package com.alex.jsinterpreter.logic.persistence;
+
+import com.alex.jsinterpreter.config.JSWriteBehindProperties;
+import com.alex.jsinterpreter.repository.JSCodeRepository;
+import com.alex.jsinterpreter.repository.JSCodeStateChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * class responsible for asynchronous persistence of js code state changes. Execution threads only enqueue
+ * changes and background writer flushes them to database in batches by bulk write
+ *
+ * @author Oleksandr Myronenko
+ */
+@Slf4j
+@Component
+public class JSCodeWriteBehindQueue {
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private final JSCodeRepository jsCodeRepository;
+    private final JSWriteBehindProperties properties;
+    private final BlockingQueue<JSCodeStateChange> stateChanges;
+    private final Thread writer;
+    private final Counter flushedChanges;
+    private final Counter synchronousWrites;
+    private final Timer flushTimer;
+    private volatile boolean running;
+
+    public JSCodeWriteBehindQueue(JSCodeRepository jsCodeRepository, JSWriteBehindProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.jsCodeRepository = jsCodeRepository;
+        this.properties = properties;
+        this.stateChanges = new ArrayBlockingQueue<>(properties.capacity());
+        this.flushedChanges = meterRegistry.counter("js.write.behind.flushed");
+        this.synchronousWrites = meterRegistry.counter("js.write.behind.synchronous");
+        this.flushTimer = meterRegistry.timer("js.write.behind.flush");
+        Gauge.builder("js.write.behind.queue.size", stateChanges, BlockingQueue::size).register(meterRegistry);
+        this.running = true;
+        this.writer = new Thread(this::writeBehind, "js-code-write-behind");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * using for enqueueing state change, caller is blocked while queue is full and change is written
+     * synchronously if queue stays full longer than enqueue timeout or writer is stopped
+     *
+     * @param stateChange state change of js code
+     */
+    public void enqueue(JSCodeStateChange stateChange) {
+        if (running) {
+            try {
+                if (stateChanges.offer(stateChange, properties.enqueueTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                    return;
+                }
+                log.warn("write-behind queue is full, state change is written synchronously");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronousWrites.increment();
+        jsCodeRepository.applyStateChanges(List.of(stateChange));
+    }
+
+    /**
+     * using for flushing all enqueued changes on shutdown
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        // writer is not interrupted to avoid aborting bulk write in progress, it stops after draining queue
+        writer.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT_SECONDS));
+        // flush changes enqueued while writer was stopping
+        List<JSCodeStateChange> remainingChanges = new ArrayList<>();
+        stateChanges.drainTo(remainingChanges);
+        if (!remainingChanges.isEmpty()) {
+            flush(remainingChanges);
+        }
+        log.info("write-behind queue was flushed and stopped");
+    }
+
+    private void writeBehind() {
+        List<JSCodeStateChange> batch = new ArrayList<>(properties.batchSize());
+        while (running || !stateChanges.isEmpty()) {
+            try {
+                JSCodeStateChange first = stateChanges.poll(properties.flushInterval().toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                log.warn("write-behind writer was interrupted");
+            }
+            stateChanges.drainTo(batch, properties.batchSize() - batch.size());
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<JSCodeStateChange> batch) {
+        List<JSCodeStateChange> coalescedChanges = coalesce(batch);
+        for (int attempt = 1; attempt <= MAX_FLUSH_ATTEMPTS; attempt++) {
+            try {
+                flushTimer.record(() -> jsCodeRepository.applyStateChanges(coalescedChanges));
+                flushedChanges.increment(coalescedChanges.size());
+                return;
+            } catch (RuntimeException e) {
+                log.warn("flush of state changes failed, attempt -> {}", attempt, e);
+            }
+        }
+        log.error("state changes were not persisted after {} attempts -> {}", MAX_FLUSH_ATTEMPTS, coalescedChanges);
+    }
+
+    private List<JSCodeStateChange> coalesce(List<JSCodeStateChange> batch) {
+        // later changes of the same js code are merged into the first one, order of js codes is kept
+        Map<String, JSCodeStateChange> changesById = new LinkedHashMap<>();
+        for (JSCodeStateChange stateChange : batch) {
+            changesById.merge(stateChange.jsCodeId(), stateChange, JSCodeStateChange::merge);
+        }
+        return new ArrayList<>(changesById.values());
+    }
+}
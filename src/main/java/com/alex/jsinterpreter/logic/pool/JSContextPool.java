@@ -0,0 +1,183 @@
+package com.alex.jsinterpreter.logic.pool;
+
+import com.alex.jsinterpreter.config.JSContextPoolProperties;
+import com.alex.jsinterpreter.logic.JSMember;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.ResourceLimits;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+
+/**
+ * class responsible for keeping bounded pool of pre-warmed js contexts created on shared {@link Engine}.
+ * Every context is used only for one execution and recycled after it, so global js state of one script
+ * never leaks to another one.
+ *
+ * @author Oleksandr Myronenko
+ */
+@Slf4j
+@Component
+public class JSContextPool {
+    private final Engine engine;
+    private final JSContextPoolProperties properties;
+    private final BlockingQueue<Context> idleContexts;
+    private final ExecutorService refillExecutor;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter dedicated;
+    private final Timer waitTimer;
+
+    public JSContextPool(Engine engine, JSContextPoolProperties properties, MeterRegistry meterRegistry) {
+        this.engine = engine;
+        this.properties = properties;
+        this.idleContexts = new ArrayBlockingQueue<>(Math.max(1, properties.size()));
+        this.refillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "js-context-pool-refill");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.hits = meterRegistry.counter("js.context.pool.hits");
+        this.misses = meterRegistry.counter("js.context.pool.misses");
+        this.dedicated = meterRegistry.counter("js.context.pool.dedicated");
+        this.waitTimer = Timer.builder("js.context.pool.wait")
+                .description("time spent on acquiring js context")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("js.context.pool.idle", idleContexts, BlockingQueue::size).register(meterRegistry);
+    }
+
+    /**
+     * using for pre-warming pool on startup
+     */
+    @PostConstruct
+    public void prewarm() {
+        for (int i = 0; i < properties.size(); i++) {
+            refillExecutor.execute(this::refill);
+        }
+    }
+
+    /**
+     * using for acquiring js context, pre-warmed one is taken if it is available or becomes available during
+     * max wait, otherwise new context is created
+     *
+     * @return js context ready for execution
+     */
+    public Context acquire() {
+        long start = System.nanoTime();
+        try {
+            Context context = idleContexts.poll();
+            if (context == null && !properties.maxWait().isZero()) {
+                context = idleContexts.poll(properties.maxWait().toNanos(), TimeUnit.NANOSECONDS);
+            }
+            if (context != null) {
+                hits.increment();
+                return context;
+            }
+            misses.increment();
+            log.debug("context pool is empty, new context will be created");
+            return createContext();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            misses.increment();
+            return createContext();
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * using for acquiring js context with limited count of executed statements. Resource limits are fixed when
+     * context is built, so such context is created for one execution and is not taken from pool
+     *
+     * @param statementLimit count of statements, context from pool is acquired if it is not positive
+     * @return js context ready for execution
+     */
+    public Context acquire(long statementLimit) {
+        if (statementLimit <= 0) {
+            return acquire();
+        }
+        dedicated.increment();
+        ResourceLimits resourceLimits = ResourceLimits.newBuilder()
+                .statementLimit(statementLimit, null)
+                .build();
+        return Context.newBuilder(JSMember.JS.getValue()).engine(engine).resourceLimits(resourceLimits).build();
+    }
+
+    /**
+     * using for creating long-lived context on shared engine, such context is not taken from pool, so pre-warmed
+     * contexts stay for executions
+     *
+     * @return initialized js context which must be closed by {@link #close(Context)}
+     */
+    public Context createDedicated() {
+        dedicated.increment();
+        return createContext();
+    }
+
+    /**
+     * using for closing dedicated context, pool is not refilled
+     *
+     * @param context dedicated js context
+     */
+    public void close(Context context) {
+        try {
+            context.close();
+        } catch (IllegalStateException e) {
+            log.warn("js context can not be closed -> {}", e.getMessage());
+        } catch (PolyglotException e) {
+            // context of cancelled execution is already closed
+            log.debug("js context was cancelled -> {}", e.getMessage());
+        }
+    }
+
+    /**
+     * using for returning context after execution, context is closed and replaced by fresh pre-warmed one
+     *
+     * @param context used js context
+     */
+    public void release(Context context) {
+        close(context);
+        try {
+            refillExecutor.execute(this::refill);
+        } catch (RejectedExecutionException e) {
+            log.debug("context pool is shut down, context will not be refilled");
+        }
+    }
+
+    /**
+     * using for closing all idle contexts on shutdown
+     */
+    @PreDestroy
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+        Context context;
+        while ((context = idleContexts.poll()) != null) {
+            context.close();
+        }
+    }
+
+    private void refill() {
+        if (idleContexts.remainingCapacity() == 0) {
+            return;
+        }
+        Context context = createContext();
+        if (!idleContexts.offer(context)) {
+            context.close();
+        }
+    }
+
+    private Context createContext() {
+        Context context = Context.newBuilder(JSMember.JS.getValue()).engine(engine).build();
+        context.initialize(JSMember.JS.getValue());
+        return context;
+    }
+}
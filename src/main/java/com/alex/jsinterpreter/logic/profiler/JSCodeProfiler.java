@@ -0,0 +1,155 @@
+package com.alex.jsinterpreter.logic.profiler;
+
+import com.alex.jsinterpreter.config.JSProfilerProperties;
+import com.alex.jsinterpreter.document.JSCodeProfile;
+import com.alex.jsinterpreter.document.JSCodeProfileFunction;
+import com.alex.jsinterpreter.logic.JSMember;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.tools.profiler.CPUSampler;
+import com.oracle.truffle.tools.profiler.CPUSamplerData;
+import com.oracle.truffle.tools.profiler.ProfilerNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.ResourceLimits;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * class responsible for CPU profiling of js code executions. Sampler is attached to engine and samples every
+ * context of it, so profiled execution gets dedicated engine and context, and executions which are not profiled
+ * run on shared engine without any instrument
+ *
+ * @author Oleksandr Myronenko
+ */
+@Slf4j
+@Component
+public class JSCodeProfiler {
+    private static final String ANONYMOUS_FUNCTION = "<anonymous>";
+    private final JSProfilerProperties properties;
+    private final Counter profiledExecutions;
+
+    public JSCodeProfiler(JSProfilerProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.profiledExecutions = meterRegistry.counter("js.profiler.executions");
+    }
+
+    /**
+     * using for creating js context whose execution is sampled
+     *
+     * @param statementLimit count of statements, context is not limited if it is not positive
+     * @return profiled context which must be closed after execution
+     */
+    public JSProfiledContext createContext(long statementLimit) {
+        Engine engine = Engine.newBuilder()
+                .option("engine.WarnInterpreterOnly", "false")
+                .build();
+        CPUSampler sampler = CPUSampler.find(engine);
+        if (sampler == null) {
+            log.warn("cpu sampler is not available, js code is executed without profiling");
+        } else {
+            sampler.setPeriod(Math.max(1L, properties.samplePeriod().toMillis()));
+            sampler.setCollecting(true);
+        }
+        Context.Builder contextBuilder = Context.newBuilder(JSMember.JS.getValue()).engine(engine);
+        if (statementLimit > 0) {
+            contextBuilder.resourceLimits(ResourceLimits.newBuilder().statementLimit(statementLimit, null).build());
+        }
+        profiledExecutions.increment();
+        return new JSProfiledContext(engine, contextBuilder.build(), sampler);
+    }
+
+    /**
+     * using for building profile of finished execution
+     *
+     * @param profiledContext context of execution
+     * @return {@link JSCodeProfile} or null if sampler is not available
+     */
+    public JSCodeProfile collectProfile(JSProfiledContext profiledContext) {
+        CPUSampler sampler = profiledContext.sampler();
+        if (sampler == null) {
+            return null;
+        }
+        sampler.setCollecting(false);
+        long samples = 0L;
+        long sampleIntervalMillis = sampler.getPeriod();
+        Map<String, JSCodeProfileFunction> functions = new HashMap<>();
+        Map<String, Long> collapsedStacks = new HashMap<>();
+        for (CPUSamplerData data : sampler.getData().values()) {
+            samples += data.getSamples();
+            for (Collection<ProfilerNode<CPUSampler.Payload>> rootNodes : data.getThreadData().values()) {
+                for (ProfilerNode<CPUSampler.Payload> rootNode : rootNodes) {
+                    collectNode(rootNode, new ArrayDeque<>(), functions, collapsedStacks);
+                }
+            }
+        }
+        functions.values().forEach(function -> {
+            function.setSelfTimeMillis(function.getSelfSamples() * sampleIntervalMillis);
+            function.setTotalTimeMillis(function.getTotalSamples() * sampleIntervalMillis);
+        });
+        return new JSCodeProfile(samples, sampleIntervalMillis,
+                functions.values().stream()
+                        .sorted(Comparator.comparingLong(JSCodeProfileFunction::getSelfSamples)
+                                .thenComparingLong(JSCodeProfileFunction::getTotalSamples).reversed())
+                        .limit(properties.maxFunctions())
+                        .toList(),
+                collapsedStacks.entrySet().stream()
+                        .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                        .limit(properties.maxStacks())
+                        .map(stack -> stack.getKey() + " " + stack.getValue())
+                        .toList());
+    }
+
+    /**
+     * using for closing context and engine of profiled execution
+     *
+     * @param profiledContext context of execution
+     */
+    public void release(JSProfiledContext profiledContext) {
+        try {
+            profiledContext.context().close();
+        } catch (IllegalStateException e) {
+            log.warn("profiled js context can not be closed -> {}", e.getMessage());
+        } catch (PolyglotException e) {
+            // context of cancelled execution is already closed
+            log.debug("profiled js context was cancelled -> {}", e.getMessage());
+        }
+        profiledContext.engine().close();
+    }
+
+    private void collectNode(ProfilerNode<CPUSampler.Payload> node, Deque<String> stack,
+                             Map<String, JSCodeProfileFunction> functions, Map<String, Long> collapsedStacks) {
+        String name = node.getRootName() == null || node.getRootName().isEmpty() ? ANONYMOUS_FUNCTION
+                : node.getRootName();
+        SourceSection sourceSection = node.getSourceSection();
+        String location = sourceSection != null && sourceSection.isAvailable()
+                ? "line " + sourceSection.getStartLine() : "";
+        String frame = location.isEmpty() ? name : name + " (" + location + ")";
+        CPUSampler.Payload payload = node.getPayload();
+        JSCodeProfileFunction function = functions.computeIfAbsent(frame,
+                key -> new JSCodeProfileFunction(name, location, 0L, 0L, 0L, 0L));
+        function.setSelfSamples(function.getSelfSamples() + payload.getSelfHitCount());
+        // time of recursive call is already counted by its outer call
+        if (!node.isRecursive()) {
+            function.setTotalSamples(function.getTotalSamples() + payload.getHitCount());
+        }
+        // semicolon separates frames of collapsed stack
+        stack.addLast(frame.replace(';', ','));
+        if (payload.getSelfHitCount() > 0) {
+            collapsedStacks.merge(String.join(";", stack), (long) payload.getSelfHitCount(), Long::sum);
+        }
+        for (ProfilerNode<CPUSampler.Payload> child : node.getChildren()) {
+            collectNode(child, stack, functions, collapsedStacks);
+        }
+        stack.removeLast();
+    }
+}
@@ -0,0 +1,16 @@
+package com.alex.jsinterpreter.logic.profiler;
+
+import com.oracle.truffle.tools.profiler.CPUSampler;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+
+/**
+ * record represents js context of profiled execution with its dedicated engine and sampler
+ *
+ * @param engine  dedicated engine of execution
+ * @param context js context of execution
+ * @param sampler sampler of engine, it is null if profiler is not available
+ * @author Oleksandr Myronenko
+ */
+public record JSProfiledContext(Engine engine, Context context, CPUSampler sampler) {
+}
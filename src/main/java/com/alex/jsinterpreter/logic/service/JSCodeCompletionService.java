@@ -0,0 +1,67 @@
+package com.alex.jsinterpreter.logic.service;
+
+import com.alex.jsinterpreter.config.JSCompletionProperties;
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.domain.dto.JSCodeDetailedResponse;
+import com.alex.jsinterpreter.logic.completion.JSCodeCompletionRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * this class responsible for long polling of js code completion, request thread is released while js code
+ * is executing
+ *
+ * @author Oleksandr Myronenko
+ */
+@Slf4j
+@Service
+public record JSCodeCompletionService(JSCodeCompletionRegistry jsCodeCompletionRegistry, JSCodeService jsCodeService,
+                                      JSCompletionProperties properties) {
+    /**
+     * using for waiting for terminal status of js code. Finished js code is returned with ok status,
+     * js code which is not finished during timeout is returned with accepted status, so client polls again.
+     * Js code executed by another node is checked in database when timeout expires
+     *
+     * @param jsCodeId js code id
+     * @param timeout  optional time of waiting, it is limited by max timeout
+     * @return deferred response with detailed js code
+     */
+    public DeferredResult<ResponseEntity<JSCodeDetailedResponse>> awaitCompletion(String jsCodeId,
+                                                                                 Optional<Duration> timeout) {
+        Duration waitTimeout = timeout.orElse(properties.defaultTimeout());
+        if (waitTimeout.isNegative() || waitTimeout.compareTo(properties.maxTimeout()) > 0) {
+            waitTimeout = properties.maxTimeout();
+        }
+        DeferredResult<ResponseEntity<JSCodeDetailedResponse>> result = new DeferredResult<>(waitTimeout.toMillis());
+        // waiter is registered before reading js code, so completion between them is not lost
+        CompletableFuture<JSCode> waiter = jsCodeCompletionRegistry.register(jsCodeId);
+        result.onCompletion(() -> jsCodeCompletionRegistry.unregister(jsCodeId, waiter));
+        JSCode jsCode;
+        try {
+            jsCode = waiter.isDone() ? waiter.join() : jsCodeService.getById(jsCodeId);
+        } catch (RuntimeException e) {
+            jsCodeCompletionRegistry.unregister(jsCodeId, waiter);
+            throw e;
+        }
+        if (jsCode.getStatusCode().isTerminal()) {
+            result.setResult(toResponse(jsCode));
+            return result;
+        }
+        result.onTimeout(() -> result.setResult(toResponse(jsCodeService.getById(jsCodeId))));
+        waiter.thenAccept(completedJSCode -> result.setResult(toResponse(completedJSCode)));
+        log.info("waiting for completion of js code -> {}", jsCodeId);
+        return result;
+    }
+
+    private ResponseEntity<JSCodeDetailedResponse> toResponse(JSCode jsCode) {
+        HttpStatus status = jsCode.getStatusCode().isTerminal() ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return new ResponseEntity<>(jsCodeService.toDetailedResponse(jsCode), status);
+    }
+}
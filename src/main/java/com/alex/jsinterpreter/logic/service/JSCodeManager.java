@@ -1,9 +1,19 @@
 package com.alex.jsinterpreter.logic.service;
 
+import com.alex.jsinterpreter.config.JSBatchProperties;
 import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodeLimits;
+import com.alex.jsinterpreter.document.JSCodePriority;
 import com.alex.jsinterpreter.document.JSCodeStatus;
+import com.alex.jsinterpreter.domain.dto.JSCodeBatchItem;
+import com.alex.jsinterpreter.domain.dto.JSCodeBatchResult;
+import com.alex.jsinterpreter.domain.dto.JSCodeDetailedResponse;
 import com.alex.jsinterpreter.domain.mapper.JSCodeMapper;
+import com.alex.jsinterpreter.logic.admission.JSCodeAdmissionController;
+import com.alex.jsinterpreter.logic.cache.JSCodeResultCache;
+import com.alex.jsinterpreter.logic.cluster.JSClusterNode;
 import com.alex.jsinterpreter.logic.job.ExecutorJSCodeJob;
+import com.alex.jsinterpreter.logic.job.JSCodeScheduler;
 import com.alex.jsinterpreter.repository.JSCodeRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,53 +23,255 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 @Slf4j
 @Service
 public record JSCodeManager(JSCodeRepository jsCodeRepository, JSCodeMapper jsCodeMapper,
-                            ExecutorJSCodeJob executorJSCodeJob) {
+                            ExecutorJSCodeJob executorJSCodeJob, JSCodeScheduler jsCodeScheduler,
+                            JSCodeOutputService jsCodeOutputService, JSClusterNode jsClusterNode,
+                            JSCodeAdmissionController jsCodeAdmissionController,
+                            JSBatchProperties batchProperties, JSCodeResultCache jsCodeResultCache) {
     /**
      * using for executing js code
      *
      * @param jsCodeScript        js code script for execution
      * @param scheduledTime scheduled time execution
      * @param showResults   boolean value for showing results of execution
+     * @param limits        requested budgets of execution
+     * @param priority      priority class of js code
+     * @param tenantId      optional tenant of js code
+     * @param profile       boolean value for CPU profiling of execution
+     * @param memoize       boolean value for memoizing result, script must not depend on time or randomness
+     * @param idempotencyKey optional idempotency key of client for memoization of results
      * @return list of script results
      */
     @Transactional
-    public List<String> executeJSCode(String jsCodeScript, String scheduledTime, boolean showResults) {
+    public List<String> executeJSCode(String jsCodeScript, String scheduledTime, boolean showResults,
+                                      JSCodeLimits limits, String priority, Optional<String> tenantId,
+                                      boolean profile, boolean memoize, Optional<String> idempotencyKey) {
         checkScheduledCodeWithShowingResults(scheduledTime, showResults);
+        JSCodePriority jsCodePriority = parsePriority(priority);
         Instant instantScheduledTime;
         JSCode jsCode;
         if (scheduledTime == null) {
             instantScheduledTime = Instant.now();
-            jsCode = createJSCodeDocument(jsCodeScript, instantScheduledTime);
-            executorJSCodeJob.executeJSCode(jsCode);
+            JSCodeAdmissionController.Permit permit = jsCodeAdmissionController.acquire();
+            try {
+                // immediate js code is executed by caller thread, it does not wait in queue of execution pool
+                jsCode = createJSCodeDocument(jsCodeScript, instantScheduledTime, limits, jsCodePriority, tenantId,
+                        profile);
+                if (jsCodeScheduler.claimJSCode(jsCode)) {
+                    executorJSCodeJob.executeJSCode(jsCode);
+                }
+            } finally {
+                jsCodeAdmissionController.release(permit);
+            }
+            if (memoize && jsCodeResultCache.isEnabled() && jsCode.getStatusCode() == JSCodeStatus.COMPLETED) {
+                List<String> scriptResults = jsCodeOutputService.getAllOutput(jsCode.getJsCodeId());
+                memoizeJSCode(jsCode, scriptResults, idempotencyKey);
+                return showResults ? scriptResults : List.of();
+            }
+            if (showResults) {
+                return jsCodeOutputService.getAllOutput(jsCode.getJsCodeId());
+            }
         } else {
-            jsCode = createJSCodeDocument(jsCodeScript, ZonedDateTime.of(LocalDateTime
-                    .parse(scheduledTime), ZoneId.systemDefault()).toInstant());
-            executorJSCodeJob.scheduleJSCodeJobById(jsCode);
+            jsCode = createJSCodeDocument(jsCodeScript, parseScheduledTime(scheduledTime), limits, jsCodePriority,
+                    tenantId, profile);
+            jsCodeScheduler.scheduleJSCodeJob(jsCode);
         }
-        return jsCode.getScriptResults();
+        return List.of();
     }
+
+    /**
+     * using for getting memoized result of immediate js code which was already completed with the same script
+     *
+     * @param jsCodeScript   js code script for execution
+     * @param scheduledTime  scheduled time execution, scheduled js codes are not memoized
+     * @param memoize        boolean value for memoization requested by client, result is not looked up without it
+     * @param idempotencyKey optional idempotency key of client
+     * @return memoized {@link JSCodeDetailedResponse} or empty optional if js code must be executed
+     */
+    public Optional<JSCodeDetailedResponse> getMemoizedJSCode(String jsCodeScript, String scheduledTime,
+                                                              boolean memoize, Optional<String> idempotencyKey) {
+        if (!memoize || scheduledTime != null) {
+            return Optional.empty();
+        }
+        Optional<JSCodeDetailedResponse> memoized = jsCodeResultCache.get(jsCodeScript, idempotencyKey);
+        memoized.ifPresent(jsCode -> log.info("memoized result of JSCode is returned -> {}", jsCode.getJsCodeId()));
+        return memoized;
+    }
+
+    /**
+     * using for submitting js code for execution without waiting for its result
+     *
+     * @param jsCodeScript js code script for execution
+     * @param limits       requested budgets of execution
+     * @param priority     priority class of js code
+     * @param tenantId     optional tenant of js code
+     * @param profile      boolean value for CPU profiling of execution
+     * @return id of submitted js code
+     */
+    public String submitJSCode(String jsCodeScript, JSCodeLimits limits, String priority,
+                               Optional<String> tenantId, boolean profile) {
+        JSCodePriority jsCodePriority = parsePriority(priority);
+        JSCodeAdmissionController.Permit permit = jsCodeAdmissionController.acquire();
+        JSCode jsCode;
+        try {
+            jsCode = createJSCodeDocument(jsCodeScript, Instant.now(), limits, jsCodePriority, tenantId, profile);
+        } catch (RuntimeException e) {
+            jsCodeAdmissionController.release(permit);
+            throw e;
+        }
+        jsCodeScheduler.submitJSCodeJob(jsCode, permit);
+        return jsCode.getJsCodeId();
+    }
+
+    /**
+     * using for executing batch of js codes. All js codes are saved by one insert, immediate ones are executed
+     * in parallel on execution pool, scheduled ones are planned. Batch without showing results only submits
+     * immediate js codes and returns their planned statuses without waiting for execution
+     *
+     * @param items       js codes of batch
+     * @param showResults boolean value for waiting for immediate js codes and showing their results
+     * @param priority    priority class of all js codes of batch
+     * @param tenantId    optional tenant of all js codes of batch
+     * @return results of js codes in submission order
+     */
+    public List<JSCodeBatchResult> executeJSCodeBatch(List<JSCodeBatchItem> items, boolean showResults,
+                                                      String priority, Optional<String> tenantId) {
+        checkBatch(items, showResults);
+        JSCodePriority jsCodePriority = parsePriority(priority);
+        List<JSCode> jsCodes = new ArrayList<>(items.size());
+        int immediateCount = 0;
+        for (JSCodeBatchItem item : items) {
+            Instant scheduledTime = item.scheduledTime() == null ? Instant.now()
+                    : parseScheduledTime(item.scheduledTime());
+            jsCodes.add(buildJSCodeDocument(item.scriptBody(), scheduledTime,
+                    item.limits() == null ? new JSCodeLimits() : item.limits(), jsCodePriority, tenantId, false));
+            if (item.scheduledTime() == null) {
+                immediateCount++;
+            }
+        }
+        Iterator<JSCodeAdmissionController.Permit> permits = jsCodeAdmissionController.acquire(immediateCount)
+                .iterator();
+        try {
+            jsCodeRepository.insert(jsCodes);
+        } catch (RuntimeException e) {
+            permits.forEachRemaining(jsCodeAdmissionController::release);
+            throw e;
+        }
+        log.info("batch of JSCodes was saved to database -> {}", jsCodes.size());
+        if (!showResults) {
+            // statuses are taken before submission, documents are not read while execution pool updates js codes
+            List<JSCodeBatchResult> results = jsCodes.stream()
+                    .map(jsCode -> new JSCodeBatchResult(jsCode.getJsCodeId(), jsCode.getStatusCode(), null))
+                    .toList();
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i).scheduledTime() == null) {
+                    jsCodeScheduler.submitJSCodeJob(jsCodes.get(i), permits.next());
+                } else {
+                    jsCodeScheduler.scheduleJSCodeJob(jsCodes.get(i));
+                }
+            }
+            return results;
+        }
+        List<CompletableFuture<Void>> executions = jsCodes.stream()
+                .map(jsCode -> jsCodeScheduler.executeJSCodeJob(jsCode, permits.next()))
+                .toList();
+        CompletableFuture.allOf(executions.toArray(CompletableFuture[]::new)).join();
+        return jsCodes.stream()
+                .map(jsCode -> new JSCodeBatchResult(jsCode.getJsCodeId(), jsCode.getStatusCode(),
+                        jsCodeOutputService.getAllOutput(jsCode.getJsCodeId())))
+                .toList();
+    }
+
     /**
      * using for stopping js code
      *
      * @param jsCodeId js code id for stop
      */
     public void stopJSCode(String jsCodeId) {
-        executorJSCodeJob.stopJSCodeJobById(jsCodeId);
+        jsCodeScheduler.stopJSCodeJobById(jsCodeId);
+    }
+
+    private JSCode createJSCodeDocument(String jsCode, Instant scheduledTime, JSCodeLimits limits,
+                                        JSCodePriority priority, Optional<String> tenantId, boolean profile) {
+        JSCode jsCodeDocument = buildJSCodeDocument(jsCode, scheduledTime, limits, priority, tenantId, profile);
+        jsCodeRepository.insert(jsCodeDocument);
+        log.info("JSCode was saved to database");
+        return jsCodeDocument;
     }
 
-    private JSCode createJSCodeDocument(String jsCode, Instant scheduledTime) {
+    private JSCode buildJSCodeDocument(String jsCode, Instant scheduledTime, JSCodeLimits limits,
+                                       JSCodePriority priority, Optional<String> tenantId, boolean profile) {
+        checkLimits(limits);
         JSCode jsCodeDocument = new JSCode();
         jsCodeDocument.setScriptBody(jsCode);
+        if (!limits.isEmpty()) {
+            jsCodeDocument.setLimits(limits);
+        }
         jsCodeDocument.setScheduledTime(scheduledTime);
         jsCodeDocument.setStatusCode(JSCodeStatus.PLANNED);
-        jsCodeRepository.save(jsCodeDocument);
-        log.info("JSCode was saved to database");
+        jsCodeDocument.setPriority(priority);
+        jsCodeDocument.setTenantId(tenantId.orElse(null));
+        if (profile) {
+            jsCodeDocument.setProfiling(true);
+        }
+        // imminent js code is owned by this node at once, so other nodes do not claim it
+        if (jsCodeScheduler.isImminent(scheduledTime)) {
+            jsClusterNode.takeLease(jsCodeDocument);
+        }
         return jsCodeDocument;
     }
+
+    private void memoizeJSCode(JSCode jsCode, List<String> scriptResults, Optional<String> idempotencyKey) {
+        JSCodeDetailedResponse jsCodeDetailedResponse = jsCodeMapper.documentMapToDetailedResponse(jsCode);
+        jsCodeDetailedResponse.setScriptResults(scriptResults);
+        jsCodeResultCache.put(idempotencyKey, jsCodeDetailedResponse);
+    }
+
+    private JSCodePriority parsePriority(String priority) {
+        try {
+            return JSCodePriority.valueOf(priority.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("wrong priority of js code -> {}", priority);
+            throw new IllegalArgumentException("Priority must be one of interactive, normal or bulk");
+        }
+    }
+
+    private Instant parseScheduledTime(String scheduledTime) {
+        return ZonedDateTime.of(LocalDateTime.parse(scheduledTime), ZoneId.systemDefault()).toInstant();
+    }
+
+    private void checkBatch(List<JSCodeBatchItem> items, boolean showResults) {
+        if (items.isEmpty() || items.size() > batchProperties.maxSize()) {
+            log.warn("wrong size of batch -> {}", items.size());
+            throw new IllegalArgumentException("Size of batch must be from 1 to " + batchProperties.maxSize());
+        }
+        for (JSCodeBatchItem item : items) {
+            if (item.scriptBody() == null) {
+                log.warn("js code of batch does not have script");
+                throw new IllegalArgumentException("Every js code of batch must have script");
+            }
+            checkScheduledCodeWithShowingResults(item.scheduledTime(), showResults);
+        }
+    }
+    private void checkLimits(JSCodeLimits limits) {
+        if (isNegative(limits.getTimeoutMillis()) || isNegative(limits.getStatementLimit())
+                || isNegative(limits.getAllocationLimitBytes())) {
+            log.warn("negative limits of js code execution");
+            throw new IllegalArgumentException("Limits of execution can not be negative");
+        }
+    }
+
+    private boolean isNegative(Long limit) {
+        return limit != null && limit < 0;
+    }
+
     private void checkScheduledCodeWithShowingResults(String scheduledTime, boolean showResults) {
         if (showResults && scheduledTime != null) {
             log.warn("scheduled time is not null -> {} and show results is true -> {}", scheduledTime, true);
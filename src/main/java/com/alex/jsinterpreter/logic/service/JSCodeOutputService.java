@@ -0,0 +1,95 @@
+package com.alex.jsinterpreter.logic.service;
+
+import com.alex.jsinterpreter.config.JSOutputProperties;
+import com.alex.jsinterpreter.document.JSCodeOutputChunk;
+import com.alex.jsinterpreter.logic.collector.JSCodeOutputStore;
+import com.alex.jsinterpreter.repository.JSCodeOutputChunkRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * this class responsible for storing and reading chunked output of JS code
+ *
+ * @author Oleksandr Myronenko
+ */
+@Slf4j
+@Service
+public record JSCodeOutputService(JSCodeOutputChunkRepository jsCodeOutputChunkRepository,
+                                  JSOutputProperties properties) implements JSCodeOutputStore {
+    @Override
+    public void appendChunk(String jsCodeId, long firstLine, List<String> lines) {
+        jsCodeOutputChunkRepository.insert(new JSCodeOutputChunk(jsCodeId, firstLine, List.copyOf(lines)));
+    }
+
+    @Override
+    public void forEachLine(String jsCodeId, Consumer<String> lineConsumer) {
+        try (Stream<JSCodeOutputChunk> chunks = jsCodeOutputChunkRepository.streamByJsCodeIdOrderByFirstLine(jsCodeId)) {
+            chunks.forEach(chunk -> chunk.getLines().forEach(lineConsumer));
+        }
+    }
+
+    /**
+     * using for getting range of js code output lines
+     *
+     * @param jsCodeId js code id
+     * @param offset   number of first line
+     * @param limit    maximum count of lines, it is bounded by max page size
+     * @return list of output lines
+     */
+    public List<String> getOutput(String jsCodeId, long offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            log.warn("wrong range of output lines, offset -> {}, limit -> {}", offset, limit);
+            throw new IllegalArgumentException("Offset and limit of output must not be negative");
+        }
+        int boundedLimit = Math.min(limit, properties.maxPageSize());
+        List<String> lines = new ArrayList<>(boundedLimit);
+        if (boundedLimit == 0) {
+            return lines;
+        }
+        List<JSCodeOutputChunk> chunks = jsCodeOutputChunkRepository
+                .findByJsCodeIdAndLastLineGreaterThanAndFirstLineLessThanOrderByFirstLine(jsCodeId, offset,
+                        offset + boundedLimit);
+        for (JSCodeOutputChunk chunk : chunks) {
+            int from = (int) Math.max(0, offset - chunk.getFirstLine());
+            int until = (int) Math.min(chunk.getLines().size(), offset + boundedLimit - chunk.getFirstLine());
+            lines.addAll(chunk.getLines().subList(from, until));
+        }
+        return lines;
+    }
+
+    /**
+     * using for getting first lines of js code output
+     *
+     * @param jsCodeId js code id
+     * @return list of first output lines
+     */
+    public List<String> getOutputPreview(String jsCodeId) {
+        return getOutput(jsCodeId, 0, properties.previewLines());
+    }
+
+    /**
+     * using for getting all lines of js code output
+     *
+     * @param jsCodeId js code id
+     * @return list of all output lines
+     */
+    public List<String> getAllOutput(String jsCodeId) {
+        List<String> lines = new ArrayList<>();
+        forEachLine(jsCodeId, lines::add);
+        return lines;
+    }
+
+    /**
+     * using for deletion of js code output
+     *
+     * @param jsCodeId js code id
+     */
+    public void deleteOutput(String jsCodeId) {
+        jsCodeOutputChunkRepository.deleteByJsCodeId(jsCodeId);
+    }
+}
@@ -0,0 +1,325 @@
+package com.alex.jsinterpreter.logic.service;
+
+import com.alex.jsinterpreter.config.JSOutputStreamProperties;
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.logic.collector.JSCodeOutputListener;
+import com.alex.jsinterpreter.logic.collector.JSCodeOutputRegistry;
+import com.alex.jsinterpreter.logic.collector.JSCodeOutputSink;
+import com.alex.jsinterpreter.logic.completion.JSCodeCompletionRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * this class responsible for streaming js code output to clients as server-sent events. Every client has bounded
+ * queue of lines which is sent by its own thread, so execution of js code and other streams are never blocked
+ * by slow client. Stream of not started js code is started by execution events of this node, database is read
+ * only once when stream is opened
+ *
+ * @author Oleksandr Myronenko
+ */
+@Slf4j
+@Service
+public class JSCodeOutputStreamService {
+    private static final String OUTPUT_EVENT = "output";
+    private static final String COMPLETED_EVENT = "completed";
+    private static final String OVERFLOW_EVENT = "overflow";
+    private final JSCodeOutputRegistry jsCodeOutputRegistry;
+    private final JSCodeCompletionRegistry jsCodeCompletionRegistry;
+    private final JSCodeService jsCodeService;
+    private final JSCodeOutputService jsCodeOutputService;
+    private final JSOutputStreamProperties properties;
+    private final Set<OutputStream> openStreams = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender;
+    private final ScheduledExecutorService watchdog;
+
+    public JSCodeOutputStreamService(JSCodeOutputRegistry jsCodeOutputRegistry,
+                                     JSCodeCompletionRegistry jsCodeCompletionRegistry, JSCodeService jsCodeService,
+                                     JSCodeOutputService jsCodeOutputService, JSOutputStreamProperties properties) {
+        this.jsCodeOutputRegistry = jsCodeOutputRegistry;
+        this.jsCodeCompletionRegistry = jsCodeCompletionRegistry;
+        this.jsCodeService = jsCodeService;
+        this.jsCodeOutputService = jsCodeOutputService;
+        this.properties = properties;
+        AtomicInteger senderNumber = new AtomicInteger();
+        // thread is taken only by stream which has lines to send, so blocked client holds only its own thread
+        this.sender = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "js-output-stream-" + senderNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "js-output-stream-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * using for starting watchdog which disconnects clients that do not receive events in time
+     */
+    @PostConstruct
+    public void start() {
+        long checkInterval = Math.max(1L, properties.sendTimeout().toMillis() / 2);
+        watchdog.scheduleWithFixedDelay(this::abortTimedOutSends, checkInterval, checkInterval,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * using for streaming output of js code, output of executing js code is pushed line by line as it is
+     * produced, output of finished js code is sent at once, stream of planned js code waits for its execution
+     *
+     * @param jsCodeId js code id
+     * @return emitter of server-sent events
+     */
+    public SseEmitter streamOutput(String jsCodeId) {
+        SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        OutputStream outputStream = new OutputStream(jsCodeId, emitter);
+        emitter.onCompletion(outputStream::close);
+        emitter.onTimeout(outputStream::close);
+        emitter.onError(error -> outputStream.close());
+        openStreams.add(outputStream);
+        // waiters are registered before reading js code, so start or completion between them is not lost
+        outputStream.startWaiter = jsCodeOutputRegistry.awaitStart(jsCodeId);
+        outputStream.completionWaiter = jsCodeCompletionRegistry.register(jsCodeId);
+        if (outputStream.startWaiter.isDone()) {
+            outputStream.attach(outputStream.startWaiter.join());
+            log.info("output stream of executing js code was opened -> {}", jsCodeId);
+            return emitter;
+        }
+        JSCode jsCode;
+        try {
+            jsCode = outputStream.completionWaiter.isDone() ? outputStream.completionWaiter.join()
+                    : jsCodeService.getById(jsCodeId);
+        } catch (RuntimeException e) {
+            outputStream.close();
+            throw e;
+        }
+        if (jsCode.getStatusCode() != null && jsCode.getStatusCode().isTerminal()) {
+            outputStream.replayFinished(jsCode);
+            return emitter;
+        }
+        // js code is planned, queued or executing on another node, stream is started when it starts here
+        // or finishes without execution
+        outputStream.startWaiter.thenAccept(outputStream::attach);
+        outputStream.completionWaiter.thenAccept(outputStream::replayFinished);
+        log.info("output stream of not started js code was opened -> {}", jsCodeId);
+        return emitter;
+    }
+
+    /**
+     * using for stopping threads of streams on shutdown
+     */
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        sender.shutdownNow();
+    }
+
+    private void abortTimedOutSends() {
+        long now = System.nanoTime();
+        long sendTimeout = properties.sendTimeout().toNanos();
+        for (OutputStream outputStream : openStreams) {
+            if (outputStream.isSendTimedOut(now, sendTimeout)) {
+                log.warn("client did not receive output in time, stream is closed -> {}", outputStream.jsCodeId);
+                outputStream.abort();
+            }
+        }
+    }
+
+    private Consumer<String> limit(Consumer<String> lineConsumer, long maxLines) {
+        long[] consumedLines = {0L};
+        return line -> {
+            if (consumedLines[0]++ < maxLines) {
+                lineConsumer.accept(line);
+            }
+        };
+    }
+
+    private final class OutputStream implements JSCodeOutputListener {
+        private final String jsCodeId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<String> lines = new ArrayBlockingQueue<>(properties.queueCapacity());
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final Object sendLock = new Object();
+        private volatile CompletableFuture<JSCodeOutputSink> startWaiter;
+        private volatile CompletableFuture<JSCode> completionWaiter;
+        private volatile Consumer<Consumer<String>> storedOutput;
+        private volatile JSCodeOutputSink outputSink;
+        private volatile Thread sendingThread;
+        private volatile long sendStartNanos;
+        private volatile boolean completed;
+        private volatile boolean overflowed;
+        private volatile boolean closed;
+        private volatile boolean aborted;
+
+        private OutputStream(String jsCodeId, SseEmitter emitter) {
+            this.jsCodeId = jsCodeId;
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onLine(String line) {
+            // execution thread only puts line to queue, client which does not keep up is disconnected
+            if (!closed && !overflowed && !lines.offer(line)) {
+                overflowed = true;
+            }
+            scheduleDrain();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            scheduleDrain();
+        }
+
+        private void attach(JSCodeOutputSink outputSink) {
+            // stream is started once, either by start of execution or by completion without execution
+            if (closed || !started.compareAndSet(false, true)) {
+                return;
+            }
+            jsCodeCompletionRegistry.unregister(jsCodeId, completionWaiter);
+            this.outputSink = outputSink;
+            long storedLines = outputSink.subscribe(this);
+            if (closed) {
+                outputSink.unsubscribe(this);
+                return;
+            }
+            start(lineConsumer -> jsCodeOutputService.forEachLine(jsCodeId, limit(lineConsumer, storedLines)));
+        }
+
+        private void replayFinished(JSCode jsCode) {
+            if (closed || !started.compareAndSet(false, true)) {
+                return;
+            }
+            jsCodeOutputRegistry.unregisterWaiter(jsCodeId, startWaiter);
+            completed = true;
+            start(jsCode.getScriptResults() != null ? jsCode.getScriptResults()::forEach
+                    : lineConsumer -> jsCodeOutputService.forEachLine(jsCodeId, lineConsumer));
+        }
+
+        private void start(Consumer<Consumer<String>> storedOutput) {
+            this.storedOutput = storedOutput;
+            scheduleDrain();
+        }
+
+        private void close() {
+            closed = true;
+            openStreams.remove(this);
+            if (startWaiter != null) {
+                jsCodeOutputRegistry.unregisterWaiter(jsCodeId, startWaiter);
+            }
+            if (completionWaiter != null) {
+                jsCodeCompletionRegistry.unregister(jsCodeId, completionWaiter);
+            }
+            if (outputSink != null) {
+                outputSink.unsubscribe(this);
+            }
+        }
+
+        private boolean isSendTimedOut(long now, long sendTimeout) {
+            return sendingThread != null && now - sendStartNanos > sendTimeout;
+        }
+
+        private void abort() {
+            aborted = true;
+            close();
+            synchronized (sendLock) {
+                // blocked write of client is interrupted, its sender thread closes emitter
+                if (sendingThread != null) {
+                    sendingThread.interrupt();
+                }
+            }
+        }
+
+        private void scheduleDrain() {
+            if (storedOutput == null || closed || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                Consumer<Consumer<String>> output = storedOutput;
+                if (output != null) {
+                    // stored lines go before queued ones, they are read only once
+                    storedOutput = lineConsumer -> {
+                    };
+                    output.accept(line -> send(SseEmitter.event().name(OUTPUT_EVENT).data(line)));
+                }
+                String line;
+                while (!closed && (line = lines.poll()) != null) {
+                    send(SseEmitter.event().name(OUTPUT_EVENT).data(line));
+                }
+                if (aborted) {
+                    throw new IllegalStateException("Client did not receive output in time");
+                }
+                if (!closed && overflowed) {
+                    finish(OVERFLOW_EVENT);
+                } else if (!closed && completed && lines.isEmpty()) {
+                    finish(COMPLETED_EVENT);
+                }
+            } catch (RuntimeException e) {
+                log.debug("output stream was closed by client -> {}", jsCodeId);
+                close();
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && (!lines.isEmpty() || overflowed || completed)) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            sendStartNanos = System.nanoTime();
+            sendingThread = Thread.currentThread();
+            try {
+                emitter.send(event);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                synchronized (sendLock) {
+                    sendingThread = null;
+                    // interruption of aborted send must not leak to next task of pooled thread
+                    if (closed) {
+                        Thread.interrupted();
+                    }
+                }
+            }
+        }
+
+        private void finish(String eventName) {
+            send(SseEmitter.event().name(eventName).data(eventName));
+            close();
+            emitter.complete();
+        }
+    }
+}
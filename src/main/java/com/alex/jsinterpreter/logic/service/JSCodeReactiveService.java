@@ -0,0 +1,186 @@
+package com.alex.jsinterpreter.logic.service;
+
+import com.alex.jsinterpreter.config.JSCompletionProperties;
+import com.alex.jsinterpreter.config.JSListingProperties;
+import com.alex.jsinterpreter.config.JSOutputProperties;
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodeLimits;
+import com.alex.jsinterpreter.document.JSCodeOutputChunk;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import com.alex.jsinterpreter.domain.dto.JSCodeCommonResponse;
+import com.alex.jsinterpreter.domain.dto.JSCodeDetailedResponse;
+import com.alex.jsinterpreter.domain.mapper.JSCodeMapper;
+import com.alex.jsinterpreter.logic.cache.JSCodeDetailedCache;
+import com.alex.jsinterpreter.logic.cache.JSCodeResultCache;
+import com.alex.jsinterpreter.logic.completion.JSCodeCompletionRegistry;
+import com.alex.jsinterpreter.repository.JSCodeOutputChunkReactiveRepository;
+import com.alex.jsinterpreter.repository.JSCodeReactiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * this class responsible for reactive variant of js code operations. Reads and deletions do not block caller
+ * thread, js code is executed on execution pool and its completion is awaited without holding a thread
+ *
+ * @author Oleksandr Myronenko
+ */
+@Slf4j
+@Service
+public record JSCodeReactiveService(JSCodeReactiveRepository jsCodeReactiveRepository,
+                                    JSCodeOutputChunkReactiveRepository jsCodeOutputChunkReactiveRepository,
+                                    JSCodeService jsCodeService, JSCodeManager jsCodeManager,
+                                    JSCodeMapper jsCodeMapper, JSCodeCompletionRegistry jsCodeCompletionRegistry,
+                                    JSCodeResultCache jsCodeResultCache, JSCodeDetailedCache jsCodeDetailedCache,
+                                    JSOutputProperties outputProperties, JSListingProperties listingProperties,
+                                    JSCompletionProperties completionProperties) {
+    private static final String JS_CODE_SORTED_PARAM_ID = "_id";
+
+    /**
+     * using for streaming js codes with different optional params as sorting or/and status js code.
+     * Js codes are sorted descending, stream starts right after cursor
+     *
+     * @param statusJSCode optional value of status js code
+     * @param sortBy       optional value of sorting param, js codes are sorted by id by default
+     * @param cursor       optional cursor of last received js code
+     * @param limit        optional maximum count of js codes, it is limited by max page size of listing
+     * @return flux of {@link JSCodeCommonResponse}
+     */
+    public Flux<JSCodeCommonResponse> streamJSCodes(Optional<String> statusJSCode, Optional<String> sortBy,
+                                                    Optional<String> cursor, Optional<Integer> limit) {
+        JSCodeStatus jsCodeStatus = statusJSCode.map(status -> JSCodeStatus.valueOf(status.toUpperCase()))
+                .orElse(null);
+        String sortParam = sortBy.map(jsCodeService::checkSortByParam).orElse(JS_CODE_SORTED_PARAM_ID);
+        // stream is bounded like page of listing, so request without limit does not read whole collection
+        int streamSize = Math.min(limit.orElse(listingProperties.defaultPageSize()), listingProperties.maxPageSize());
+        if (streamSize <= 0) {
+            log.warn("wrong stream size -> {}", streamSize);
+            throw new IllegalArgumentException("Count of js codes must be positive");
+        }
+        return jsCodeReactiveRepository.streamPage(jsCodeStatus, sortParam,
+                        cursor.map(jsCodeService::decodeCursor).orElse(null), streamSize)
+                .map(jsCodeMapper::documentMapToCommonResponse);
+    }
+
+    /**
+     * using for getting by id detailed js code, js code in terminal status is read from cache
+     *
+     * @param jsCodeId js code id
+     * @return mono of detailed js code
+     */
+    public Mono<JSCodeDetailedResponse> getDetailedJSCodeById(String jsCodeId) {
+        return Mono.defer(() -> jsCodeDetailedCache.get(jsCodeId)
+                .map(Mono::just)
+                .orElseGet(() -> {
+                    long cacheVersion = jsCodeDetailedCache.getVersion();
+                    return getById(jsCodeId)
+                            .flatMap(this::toDetailedResponse)
+                            .doOnNext(response -> jsCodeDetailedCache.put(response, cacheVersion));
+                }));
+    }
+
+    /**
+     * using for executing js code on execution pool and waiting for its terminal status. Js code which is not
+     * finished during max timeout of completion is read from database, so it is returned with its current status
+     *
+     * @param jsCodeScript js code script for execution
+     * @param limits       requested budgets of execution
+     * @param priority     priority class of js code
+     * @param tenantId     optional tenant of js code
+     * @param profile      boolean value for CPU profiling of execution
+     * @return mono of detailed finished js code
+     */
+    public Mono<JSCodeDetailedResponse> executeJSCode(String jsCodeScript, JSCodeLimits limits, String priority,
+                                                      Optional<String> tenantId, boolean profile) {
+        // saving of js code is blocking, so it is moved from request thread
+        return Mono.fromCallable(() -> jsCodeManager.submitJSCode(jsCodeScript, limits, priority, tenantId,
+                        profile))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(this::awaitCompletion)
+                .flatMap(this::toDetailedResponse);
+    }
+
+    /**
+     * using for stopping js code
+     *
+     * @param jsCodeId js code id for stop
+     * @return mono which is completed when stop is requested
+     */
+    public Mono<Void> stopJSCode(String jsCodeId) {
+        return Mono.fromRunnable(() -> jsCodeManager.stopJSCode(jsCodeId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    /**
+     * using for deletion inactive js code
+     *
+     * @param jsCodeId js code id for deletion
+     * @return mono which is completed when js code and its output are deleted
+     */
+    public Mono<Void> deleteInactiveJSCode(String jsCodeId) {
+        return getById(jsCodeId)
+                .flatMap(jsCode -> {
+                    if (!jsCodeService.checkStatusForDeletionJSCode(jsCode)) {
+                        log.warn("js code status is active -> {}", jsCode.getStatusCode());
+                        return Mono.error(new IllegalArgumentException("Js code status is active"));
+                    }
+                    return jsCodeReactiveRepository.delete(jsCode);
+                })
+                .then(jsCodeOutputChunkReactiveRepository.deleteByJsCodeId(jsCodeId))
+                .doOnSuccess(deletedChunks -> {
+                    jsCodeResultCache.invalidate(jsCodeId);
+                    jsCodeDetailedCache.invalidate(jsCodeId);
+                    log.info("js code was deleted by id -> {}", jsCodeId);
+                })
+                .then();
+    }
+
+    private Mono<JSCode> getById(String jsCodeId) {
+        return jsCodeReactiveRepository.findById(jsCodeId)
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.warn("wrong js code id -> {}", jsCodeId);
+                    return Mono.error(new NoSuchElementException("JS code with this id was not found " + jsCodeId));
+                }));
+    }
+
+    private Mono<JSCode> awaitCompletion(String jsCodeId) {
+        CompletableFuture<JSCode> waiter = jsCodeCompletionRegistry.register(jsCodeId);
+        // js code which is executed by another node or is not finished in time is checked in database
+        return Mono.fromFuture(waiter)
+                .timeout(completionProperties.maxTimeout(), Mono.defer(() -> {
+                    jsCodeCompletionRegistry.unregister(jsCodeId, waiter);
+                    return getById(jsCodeId);
+                }))
+                .doOnCancel(() -> jsCodeCompletionRegistry.unregister(jsCodeId, waiter));
+    }
+
+    private Mono<JSCodeDetailedResponse> toDetailedResponse(JSCode jsCode) {
+        JSCodeDetailedResponse jsCodeDetailedResponse = jsCodeMapper.documentMapToDetailedResponse(jsCode);
+        if (jsCodeDetailedResponse.getScriptResults() != null) {
+            return Mono.just(jsCodeDetailedResponse);
+        }
+        // output is stored in chunks, only its first lines are returned with js code
+        return getOutputPreview(jsCode.getJsCodeId())
+                .map(scriptResults -> {
+                    jsCodeDetailedResponse.setScriptResults(scriptResults);
+                    return jsCodeDetailedResponse;
+                });
+    }
+
+    private Mono<List<String>> getOutputPreview(String jsCodeId) {
+        int previewLines = outputProperties.previewLines();
+        return jsCodeOutputChunkReactiveRepository
+                .findByJsCodeIdAndFirstLineLessThanOrderByFirstLine(jsCodeId, previewLines)
+                .flatMapIterable(JSCodeOutputChunk::getLines)
+                .take(previewLines)
+                .collectList();
+    }
+}
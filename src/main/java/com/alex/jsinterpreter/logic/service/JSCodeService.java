@@ -1,16 +1,24 @@
 package com.alex.jsinterpreter.logic.service;
 
+import com.alex.jsinterpreter.config.JSListingProperties;
 import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodeProfile;
 import com.alex.jsinterpreter.document.JSCodeStatus;
 import com.alex.jsinterpreter.domain.dto.JSCodeCommonResponse;
 import com.alex.jsinterpreter.domain.dto.JSCodeDetailedResponse;
+import com.alex.jsinterpreter.domain.dto.JSCodePage;
 import com.alex.jsinterpreter.domain.mapper.JSCodeMapper;
+import com.alex.jsinterpreter.logic.cache.JSCodeDetailedCache;
+import com.alex.jsinterpreter.logic.cache.JSCodeResultCache;
+import com.alex.jsinterpreter.logic.persistence.JSCodeWriteBehindQueue;
+import com.alex.jsinterpreter.repository.JSCodeCursor;
 import com.alex.jsinterpreter.repository.JSCodeRepository;
+import com.alex.jsinterpreter.repository.JSCodeStateChange;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -22,41 +30,29 @@ import java.util.Optional;
  */
 @Service
 @Slf4j
-public record JSCodeService(JSCodeRepository jsCodeRepository, JSCodeMapper jsCodeMapper) {
+public record JSCodeService(JSCodeRepository jsCodeRepository, JSCodeMapper jsCodeMapper,
+                            JSCodeWriteBehindQueue jsCodeWriteBehindQueue, JSCodeOutputService jsCodeOutputService,
+                            JSListingProperties listingProperties, JSCodeResultCache jsCodeResultCache,
+                            JSCodeDetailedCache jsCodeDetailedCache) {
     private static final String JS_CODE_SORTED_PARAM_ID = "_id";
     private static final String JS_CODE_SORTED_PARAM_SCHEDULED_TIME = "scheduledTime";
+    private static final String CURSOR_SEPARATOR = "_";
 
     /**
-     * using for updating js code status
+     * using for updating js code terminal status, count of output lines and execution time by one write
      *
-     * @param jsCode       js code  for updating
-     * @param jsCodeStatus new js code status
+     * @param jsCode          js code  for updating
+     * @param jsCodeStatus    terminal js code status
+     * @param outputLineCount count of js code output lines
+     * @param executionTime   new js code execution time
      */
-    public void updateStatus(JSCode jsCode, JSCodeStatus jsCodeStatus) {
+    public void updateExecutionResult(JSCode jsCode, JSCodeStatus jsCodeStatus, Long outputLineCount,
+                                      Long executionTime) {
         jsCode.setStatusCode(jsCodeStatus);
-        jsCodeRepository.save(jsCode);
-    }
-
-    /**
-     * using for updating js code script result
-     *
-     * @param jsCode       js code  for updating
-     * @param scriptResult new js code script result
-     */
-    public void updateScriptResult(JSCode jsCode, List<String> scriptResult) {
-        jsCode.setScriptResults(scriptResult);
-        jsCodeRepository.save(jsCode);
-    }
-
-    /**
-     * using for updating js code execution time
-     *
-     * @param jsCode        js code  for updating
-     * @param executionTime new js code execution time
-     */
-    public void updateExecutionTime(JSCode jsCode, Long executionTime) {
+        jsCode.setOutputLineCount(outputLineCount);
         jsCode.setExecutionTime(executionTime);
-        jsCodeRepository.save(jsCode);
+        jsCodeWriteBehindQueue.enqueue(new JSCodeStateChange(jsCode.getJsCodeId(), jsCodeStatus, outputLineCount,
+                executionTime, jsCode.getPhases(), jsCode.getProfile()));
     }
 
     /**
@@ -75,37 +71,82 @@ public record JSCodeService(JSCodeRepository jsCodeRepository, JSCodeMapper jsCo
     }
 
     /**
-     * using for getting by id detailed js code
+     * using for getting by id detailed js code, js code in terminal status is read from cache
      *
      * @param jsCodeId js code id
      * @return detailed js code
      */
     public JSCodeDetailedResponse getDetailedJSCodeById(String jsCodeId) {
-        return jsCodeMapper.documentMapToDetailedResponse(getById(jsCodeId));
+        Optional<JSCodeDetailedResponse> cachedJSCode = jsCodeDetailedCache.get(jsCodeId);
+        if (cachedJSCode.isPresent()) {
+            return cachedJSCode.get();
+        }
+        long cacheVersion = jsCodeDetailedCache.getVersion();
+        JSCodeDetailedResponse jsCodeDetailedResponse = toDetailedResponse(getById(jsCodeId));
+        jsCodeDetailedCache.put(jsCodeDetailedResponse, cacheVersion);
+        return jsCodeDetailedResponse;
     }
 
     /**
-     * using for get list js codes with different optional params as sorting or/and status js code
+     * using for getting CPU profile of finished js code which was executed with profiling
      *
-     * @param statusJSCode optional value of status js code
-     * @param sortBy       optional value of sorting param
-     * @return list of {@link JSCodeCommonResponse}
+     * @param jsCodeId js code id
+     * @return {@link JSCodeProfile}
      */
-    public List<JSCodeCommonResponse> getListJSCodes(Optional<String> statusJSCode, Optional<String> sortBy) {
-        if (statusJSCode.isEmpty() && sortBy.isPresent()) {
-            log.info("get list js codes sorted by -> {}", sortBy);
-            return getListJSCodesSortedBy(sortBy.get());
+    public JSCodeProfile getProfile(String jsCodeId) {
+        JSCodeProfile profile = getById(jsCodeId).getProfile();
+        if (profile == null) {
+            log.warn("js code does not have profile -> {}", jsCodeId);
+            throw new NoSuchElementException("Profile of JS code is not available " + jsCodeId);
         }
-        if (statusJSCode.isPresent() && sortBy.isEmpty()) {
-            log.info("get list js codes by stats");
-            return getListJSCodesByStatus(statusJSCode.get());
+        return profile;
+    }
+
+    /**
+     * using for mapping js code to detailed response with preview of its output
+     *
+     * @param jsCode {@link JSCode}
+     * @return detailed js code
+     */
+    public JSCodeDetailedResponse toDetailedResponse(JSCode jsCode) {
+        JSCodeDetailedResponse jsCodeDetailedResponse = jsCodeMapper.documentMapToDetailedResponse(jsCode);
+        // output is stored in chunks, only its first lines are returned with js code
+        if (jsCodeDetailedResponse.getScriptResults() == null) {
+            jsCodeDetailedResponse.setScriptResults(jsCodeOutputService.getOutputPreview(jsCode.getJsCodeId()));
         }
-        if (statusJSCode.isPresent()) {
-            log.info("get list js codes by status and sorted by -> {}", sortBy);
-            return getListJSCodesByStatusAndSortedBy(statusJSCode.get(), sortBy.get());
+        return jsCodeDetailedResponse;
+    }
+
+    /**
+     * using for get page of js codes with different optional params as sorting or/and status js code.
+     * Js codes are sorted descending, next page starts right after cursor of previous one
+     *
+     * @param statusJSCode optional value of status js code
+     * @param sortBy       optional value of sorting param, js codes are sorted by id by default
+     * @param cursor       optional cursor of next page
+     * @param limit        optional maximum count of js codes in page
+     * @return {@link JSCodePage} of {@link JSCodeCommonResponse}
+     */
+    public JSCodePage getListJSCodes(Optional<String> statusJSCode, Optional<String> sortBy, Optional<String> cursor,
+                                     Optional<Integer> limit) {
+        JSCodeStatus jsCodeStatus = statusJSCode.map(status -> JSCodeStatus.valueOf(status.toUpperCase()))
+                .orElse(null);
+        String sortParam = sortBy.map(this::checkSortByParam).orElse(JS_CODE_SORTED_PARAM_ID);
+        int pageSize = Math.min(limit.orElse(listingProperties.defaultPageSize()), listingProperties.maxPageSize());
+        if (pageSize <= 0) {
+            log.warn("wrong page size -> {}", pageSize);
+            throw new IllegalArgumentException("Page size must be positive");
         }
-        log.info("get usual js code list");
-        return getListJSCodes();
+        log.info("get page of js codes by status -> {} sorted by -> {}", jsCodeStatus, sortParam);
+        // one more js code is fetched to know whether next page exists
+        List<JSCode> jsCodes = jsCodeRepository.findPage(jsCodeStatus, sortParam,
+                cursor.map(this::decodeCursor).orElse(null), pageSize + 1);
+        String nextCursor = null;
+        if (jsCodes.size() > pageSize) {
+            jsCodes = jsCodes.subList(0, pageSize);
+            nextCursor = encodeCursor(jsCodes.get(pageSize - 1), sortParam);
+        }
+        return new JSCodePage(jsCodes.stream().map(jsCodeMapper::documentMapToCommonResponse).toList(), nextCursor);
     }
 
     /**
@@ -121,45 +162,44 @@ public record JSCodeService(JSCodeRepository jsCodeRepository, JSCodeMapper jsCo
             throw new IllegalArgumentException("Js code status is active");
         }
         jsCodeRepository.delete(jsCode);
+        jsCodeOutputService.deleteOutput(jsCodeId);
+        jsCodeResultCache.invalidate(jsCodeId);
+        jsCodeDetailedCache.invalidate(jsCodeId);
         log.info("js code was deleted by id -> {}", jsCodeId);
     }
 
-    private List<JSCodeCommonResponse> getListJSCodes() {
-        return jsCodeRepository.findAll().stream().map(jsCodeMapper::documentMapToCommonResponse).toList();
-    }
-
-    private List<JSCodeCommonResponse> getListJSCodesByStatusAndSortedBy(String statusJSCode, String sortBy) {
-        return jsCodeRepository.findByStatusCode(JSCodeStatus.valueOf(statusJSCode.toUpperCase()), Sort
-                        .by(Sort.Direction.DESC, sortBy))
-                .stream().map(jsCodeMapper::documentMapToCommonResponse)
-                .toList();
-    }
-
-    private List<JSCodeCommonResponse> getListJSCodesByStatus(String statusJSCode) {
-        return jsCodeRepository.findByStatusCode(JSCodeStatus.valueOf(statusJSCode.toUpperCase()))
-                .stream()
-                .map(jsCodeMapper::documentMapToCommonResponse)
-                .toList();
+    String checkSortByParam(String sortBy) {
+        if (sortBy.equalsIgnoreCase(JS_CODE_SORTED_PARAM_ID)) {
+            return JS_CODE_SORTED_PARAM_ID;
+        }
+        if (sortBy.equalsIgnoreCase(JS_CODE_SORTED_PARAM_SCHEDULED_TIME)) {
+            return JS_CODE_SORTED_PARAM_SCHEDULED_TIME;
+        }
+        throw new UnsupportedOperationException("Sorting by this param does not supported yet" + sortBy);
     }
 
-    private List<JSCodeCommonResponse> getListJSCodesSortedBy(String sortBy) {
-        checkSortByParam(sortBy);
-        return jsCodeRepository.findAll(Sort.by(Sort.Direction.DESC, sortBy))
-                .stream()
-                .map(jsCodeMapper::documentMapToCommonResponse)
-                .toList();
+    private String encodeCursor(JSCode jsCode, String sortBy) {
+        if (sortBy.equals(JS_CODE_SORTED_PARAM_SCHEDULED_TIME)) {
+            return jsCode.getScheduledTime().toEpochMilli() + CURSOR_SEPARATOR + jsCode.getJsCodeId();
+        }
+        return jsCode.getJsCodeId();
     }
 
-    private void checkSortByParam(String sortBy) {
-        if (!sortBy.equalsIgnoreCase(JS_CODE_SORTED_PARAM_ID) && !sortBy.equalsIgnoreCase(JS_CODE_SORTED_PARAM_SCHEDULED_TIME)) {
-
-            throw new UnsupportedOperationException("Sorting by this param does not supported yet" + sortBy);
+    JSCodeCursor decodeCursor(String cursor) {
+        int separatorIndex = cursor.indexOf(CURSOR_SEPARATOR);
+        if (separatorIndex < 0) {
+            return new JSCodeCursor(cursor, null);
+        }
+        try {
+            return new JSCodeCursor(cursor.substring(separatorIndex + 1),
+                    Instant.ofEpochMilli(Long.parseLong(cursor.substring(0, separatorIndex))));
+        } catch (NumberFormatException e) {
+            log.warn("wrong cursor -> {}", cursor);
+            throw new IllegalArgumentException("Cursor is not valid " + cursor);
         }
     }
 
-    private boolean checkStatusForDeletionJSCode(JSCode jsCode) {
-        JSCodeStatus currentStatus = jsCode.getStatusCode();
-        return currentStatus.equals(JSCodeStatus.COMPLETED) || currentStatus.equals(JSCodeStatus.FAILED) ||
-                currentStatus.equals(JSCodeStatus.STOPPED);
+    boolean checkStatusForDeletionJSCode(JSCode jsCode) {
+        return jsCode.getStatusCode().isTerminal();
     }
 }
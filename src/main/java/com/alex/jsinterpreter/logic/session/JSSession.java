@@ -0,0 +1,73 @@
+package com.alex.jsinterpreter.logic.session;
+
+import com.alex.jsinterpreter.domain.dto.JSSessionResponse;
+import lombok.Getter;
+import org.graalvm.polyglot.Context;
+
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * class represents session with dedicated js context which keeps global js state across executions.
+ * Executions of one session are run one by one under its lock
+ *
+ * @author Oleksandr Myronenko
+ */
+@Getter
+public class JSSession {
+    private final String sessionId;
+    private final Context context;
+    private final Instant createdTime;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Instant lastAccessTime;
+    private volatile long lastAccessNanos;
+    private volatile long executionCount;
+    private volatile long allocatedBytes;
+    private volatile boolean closed;
+
+    public JSSession(String sessionId, Context context) {
+        this.sessionId = sessionId;
+        this.context = context;
+        this.createdTime = Instant.now();
+        this.lastAccessTime = createdTime;
+        this.lastAccessNanos = System.nanoTime();
+    }
+
+    /**
+     * using for recording finished execution, must be called under lock of session
+     *
+     * @param executionAllocatedBytes bytes allocated by execution
+     */
+    public void recordExecution(long executionAllocatedBytes) {
+        executionCount++;
+        allocatedBytes += executionAllocatedBytes;
+        lastAccessTime = Instant.now();
+        lastAccessNanos = System.nanoTime();
+    }
+
+    /**
+     * using for checking whether session was not used during idle timeout
+     *
+     * @param idleTimeoutNanos idle timeout in nanoseconds
+     * @return true if session is idle
+     */
+    public boolean isIdle(long idleTimeoutNanos) {
+        return System.nanoTime() - lastAccessNanos > idleTimeoutNanos;
+    }
+
+    /**
+     * using for marking session as closed, must be called under lock of session
+     */
+    public void markClosed() {
+        closed = true;
+    }
+
+    /**
+     * using for getting state of session
+     *
+     * @return {@link JSSessionResponse}
+     */
+    public JSSessionResponse toResponse() {
+        return new JSSessionResponse(sessionId, createdTime, lastAccessTime, executionCount, allocatedBytes);
+    }
+}
@@ -0,0 +1,308 @@
+package com.alex.jsinterpreter.logic.session;
+
+import com.alex.jsinterpreter.config.JSAdmissionProperties;
+import com.alex.jsinterpreter.config.JSOutputProperties;
+import com.alex.jsinterpreter.config.JSSessionProperties;
+import com.alex.jsinterpreter.document.JSCodeLimits;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import com.alex.jsinterpreter.domain.dto.JSSessionExecutionResponse;
+import com.alex.jsinterpreter.domain.dto.JSSessionResponse;
+import com.alex.jsinterpreter.logic.JSMember;
+import com.alex.jsinterpreter.logic.admission.JSCodeAdmissionController;
+import com.alex.jsinterpreter.logic.admission.JSCodeRejectedException;
+import com.alex.jsinterpreter.logic.cache.JSSourceCache;
+import com.alex.jsinterpreter.logic.collector.JSCodeCollectionCollector;
+import com.alex.jsinterpreter.logic.collector.JSCodeOutputSink;
+import com.alex.jsinterpreter.logic.collector.JSCodeOutputStore;
+import com.alex.jsinterpreter.logic.job.JSCodeExecution;
+import com.alex.jsinterpreter.logic.job.JSExecutionWatchdog;
+import com.alex.jsinterpreter.logic.pool.JSContextPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.graalvm.polyglot.PolyglotException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * class responsible for sessions which keep dedicated warm js context across executions, so setup of session
+ * is executed once and next executions run on already compiled code. Idle sessions are closed by eviction
+ * thread, count of sessions and bytes allocated by each of them are limited
+ *
+ * @author Oleksandr Myronenko
+ */
+@Slf4j
+@Component
+public class JSSessionManager {
+    private static final String INFINITY_RESULT = "Infinity";
+    private static final String ALLOCATION_LIMIT_REASON = "Session exceeded allocation limit of %d bytes";
+    private final JSContextPool jsContextPool;
+    private final JSSourceCache jsSourceCache;
+    private final JSExecutionWatchdog jsExecutionWatchdog;
+    private final JSCodeAdmissionController jsCodeAdmissionController;
+    private final JSSessionProperties properties;
+    private final JSOutputProperties outputProperties;
+    private final JSAdmissionProperties admissionProperties;
+    private final Map<String, JSSession> sessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictor;
+    private final Counter evictions;
+
+    public JSSessionManager(JSContextPool jsContextPool, JSSourceCache jsSourceCache,
+                            JSExecutionWatchdog jsExecutionWatchdog,
+                            JSCodeAdmissionController jsCodeAdmissionController, JSSessionProperties properties,
+                            JSOutputProperties outputProperties, JSAdmissionProperties admissionProperties,
+                            MeterRegistry meterRegistry) {
+        this.jsContextPool = jsContextPool;
+        this.jsSourceCache = jsSourceCache;
+        this.jsExecutionWatchdog = jsExecutionWatchdog;
+        this.jsCodeAdmissionController = jsCodeAdmissionController;
+        this.properties = properties;
+        this.outputProperties = outputProperties;
+        this.admissionProperties = admissionProperties;
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "js-session-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evictions = meterRegistry.counter("js.session.evictions");
+        Gauge.builder("js.session.active", sessions, Map::size).register(meterRegistry);
+        Gauge.builder("js.session.allocated.bytes", this, JSSessionManager::getAllocatedBytes)
+                .register(meterRegistry);
+    }
+
+    /**
+     * using for starting periodic eviction of idle sessions
+     */
+    @PostConstruct
+    public void start() {
+        long intervalMillis = properties.evictionInterval().toMillis();
+        evictor.scheduleAtFixedRate(this::evictIdleSessions, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * using for creating session with its own js context, session keeps context for its lifetime, so context is
+     * not taken from pool of executions
+     *
+     * @return state of created session
+     */
+    public JSSessionResponse createSession() {
+        checkSessionsLimit();
+        // context is created outside of lock, so slow creation does not block other sessions
+        JSSession session = new JSSession(UUID.randomUUID().toString(), jsContextPool.createDedicated());
+        try {
+            synchronized (sessions) {
+                checkSessionsLimit();
+                sessions.put(session.getSessionId(), session);
+            }
+        } catch (JSCodeRejectedException e) {
+            jsContextPool.close(session.getContext());
+            throw e;
+        }
+        log.info("js session was created -> {}", session.getSessionId());
+        return session.toResponse();
+    }
+
+    /**
+     * using for getting state of session
+     *
+     * @param sessionId id of session
+     * @return state of session
+     */
+    public JSSessionResponse getSession(String sessionId) {
+        return findSession(sessionId).toResponse();
+    }
+
+    /**
+     * using for executing js code in session, global js state of previous executions is visible to it.
+     * Session is closed if execution is cancelled by its budget or session exceeds allocation limit
+     *
+     * @param sessionId    id of session
+     * @param jsCodeScript js code script for execution
+     * @param limits       requested budgets of execution
+     * @return result of execution
+     */
+    public JSSessionExecutionResponse executeInSession(String sessionId, String jsCodeScript, JSCodeLimits limits) {
+        JSSession session = findSession(sessionId);
+        JSCodeAdmissionController.Permit permit = jsCodeAdmissionController.acquire();
+        session.getLock().lock();
+        try {
+            if (session.isClosed()) {
+                throw new JSSessionNotFoundException(sessionId);
+            }
+            return execute(session, jsCodeScript, limits);
+        } finally {
+            session.getLock().unlock();
+            jsCodeAdmissionController.release(permit);
+        }
+    }
+
+    /**
+     * using for closing session, running execution of session is finished first
+     *
+     * @param sessionId id of session
+     */
+    public void closeSession(String sessionId) {
+        JSSession session = findSession(sessionId);
+        session.getLock().lock();
+        try {
+            close(session);
+        } finally {
+            session.getLock().unlock();
+        }
+        log.info("js session was closed -> {}", sessionId);
+    }
+
+    /**
+     * using for getting bytes allocated by executions of all open sessions
+     *
+     * @return allocated bytes
+     */
+    public long getAllocatedBytes() {
+        return sessions.values().stream().mapToLong(JSSession::getAllocatedBytes).sum();
+    }
+
+    /**
+     * using for closing all sessions on shutdown
+     */
+    @PreDestroy
+    public void shutdown() {
+        evictor.shutdownNow();
+        sessions.values().forEach(session -> {
+            session.markClosed();
+            jsContextPool.close(session.getContext());
+        });
+        sessions.clear();
+    }
+
+    private JSSessionExecutionResponse execute(JSSession session, String jsCodeScript, JSCodeLimits limits) {
+        List<String> scriptResults = new ArrayList<>();
+        JSCodeOutputSink outputSink = new JSCodeOutputSink(session.getSessionId(),
+                new SessionOutputStore(scriptResults), outputProperties.chunkLines(), outputProperties.chunkBytes(),
+                outputProperties.maxLines(), outputProperties.maxBytes(), INFINITY_RESULT::equals);
+        JSCodeExecution execution = jsExecutionWatchdog.createExecution(session.getSessionId(), session.getContext(),
+                limits);
+        Thread thread = Thread.currentThread();
+        long startAllocatedBytes = jsExecutionWatchdog.getAllocatedBytes(thread);
+        long startExecution = System.currentTimeMillis();
+        JSCodeStatus jsCodeStatus;
+        PolyglotException failure = null;
+        JSCodeExecution.Cancellation cancellation;
+        boolean active = true;
+        jsExecutionWatchdog.watch(execution);
+        try {
+            session.getContext().getBindings(JSMember.JS.getValue()).getMember(JSMember.CONSOLE.getValue())
+                    .putMember(JSMember.LOG.getValue(), new JSCodeCollectionCollector(outputSink));
+            session.getContext().eval(jsSourceCache.getSource(jsCodeScript));
+            jsCodeStatus = outputSink.isFailureLineProduced() ? JSCodeStatus.FAILED : JSCodeStatus.COMPLETED;
+        } catch (PolyglotException e) {
+            jsCodeStatus = JSCodeStatus.FAILED;
+            failure = e;
+        } finally {
+            // cancellation which won race with end of script closed context too
+            cancellation = execution.finish();
+            jsExecutionWatchdog.unwatch(execution);
+        }
+        if (cancellation != null) {
+            // context of cancelled execution is closed, so state of session is lost
+            jsCodeStatus = cancellation.jsCodeStatus();
+            appendReason(outputSink, cancellation.reason());
+            active = false;
+        } else if (failure != null) {
+            outputSink.appendUncapped(failure.getMessage());
+            log.warn("java script code of session produce error -> {}", failure.getMessage());
+        }
+        long executionTime = System.currentTimeMillis() - startExecution;
+        session.recordExecution(jsExecutionWatchdog.getAllocatedBytes(thread) - startAllocatedBytes);
+        long maxAllocatedBytes = properties.maxAllocatedBytes().toBytes();
+        if (active && maxAllocatedBytes > 0 && session.getAllocatedBytes() > maxAllocatedBytes) {
+            appendReason(outputSink, ALLOCATION_LIMIT_REASON.formatted(maxAllocatedBytes));
+            active = false;
+        }
+        outputSink.complete();
+        if (!active) {
+            close(session);
+            log.info("js session was closed after execution -> {}", session.getSessionId());
+        }
+        return new JSSessionExecutionResponse(session.getSessionId(), jsCodeStatus, scriptResults, executionTime,
+                active);
+    }
+
+    private void checkSessionsLimit() {
+        synchronized (sessions) {
+            if (sessions.size() >= properties.maxSessions()) {
+                log.warn("count of sessions reached limit -> {}", properties.maxSessions());
+                throw new JSCodeRejectedException("Count of sessions reached limit of " + properties.maxSessions(),
+                        admissionProperties.retryAfter());
+            }
+        }
+    }
+
+    private void appendReason(JSCodeOutputSink outputSink, String reason) {
+        if (reason != null) {
+            outputSink.appendUncapped(reason);
+        }
+    }
+
+    private JSSession findSession(String sessionId) {
+        JSSession session = sessions.get(sessionId);
+        if (session == null) {
+            log.warn("js session was not found -> {}", sessionId);
+            throw new JSSessionNotFoundException(sessionId);
+        }
+        return session;
+    }
+
+    private void close(JSSession session) {
+        if (session.isClosed()) {
+            return;
+        }
+        session.markClosed();
+        sessions.remove(session.getSessionId(), session);
+        jsContextPool.close(session.getContext());
+    }
+
+    private void evictIdleSessions() {
+        long idleTimeoutNanos = properties.idleTimeout().toNanos();
+        for (JSSession session : sessions.values()) {
+            // session which is executing right now is not idle
+            if (session.isIdle(idleTimeoutNanos) && session.getLock().tryLock()) {
+                try {
+                    if (session.isIdle(idleTimeoutNanos)) {
+                        close(session);
+                        evictions.increment();
+                        log.info("idle js session was evicted -> {}", session.getSessionId());
+                    }
+                } finally {
+                    session.getLock().unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * output store of session execution, output is returned in response and is not persisted
+     */
+    private record SessionOutputStore(List<String> scriptResults) implements JSCodeOutputStore {
+        @Override
+        public void appendChunk(String jsCodeId, long firstLine, List<String> lines) {
+            scriptResults.addAll(lines);
+        }
+
+        @Override
+        public void forEachLine(String jsCodeId, Consumer<String> lineConsumer) {
+            scriptResults.forEach(lineConsumer);
+        }
+    }
+}
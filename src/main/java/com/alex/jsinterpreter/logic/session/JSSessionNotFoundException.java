@@ -0,0 +1,14 @@
+package com.alex.jsinterpreter.logic.session;
+
+import java.util.NoSuchElementException;
+
+/**
+ * exception is thrown when session does not exist or was already closed
+ *
+ * @author Oleksandr Myronenko
+ */
+public class JSSessionNotFoundException extends NoSuchElementException {
+    public JSSessionNotFoundException(String sessionId) {
+        super("JS session with this id was not found " + sessionId);
+    }
+}
@@ -0,0 +1,13 @@
+package com.alex.jsinterpreter.repository;
+
+import java.time.Instant;
+
+/**
+ * record represents position of last js code of listing page, next page starts right after it
+ *
+ * @param jsCodeId      id of last js code
+ * @param scheduledTime scheduled time of last js code, it is used only for listing sorted by scheduled time
+ * @author Oleksandr Myronenko
+ */
+public record JSCodeCursor(String jsCodeId, Instant scheduledTime) {
+}
@@ -0,0 +1,21 @@
+package com.alex.jsinterpreter.repository;
+
+import com.alex.jsinterpreter.document.JSCode;
+
+import java.util.List;
+
+/**
+ * This interface is used to persist lifecycle of {@link JSCode} execution by partial updates
+ * without rewriting whole document
+ *
+ * @author Oleksandr Myronenko
+ */
+public interface JSCodeLifecycleRepository {
+    /**
+     * method is used to apply batch of state changes by one bulk write. Terminal status is written only to
+     * executing js code and executing status only to planned one, so stopped or failed js code is not overwritten
+     *
+     * @param stateChanges state changes in order of their appearance
+     */
+    void applyStateChanges(List<JSCodeStateChange> stateChanges);
+}
@@ -0,0 +1,82 @@
+package com.alex.jsinterpreter.repository;
+
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+/**
+ * implementation of {@link JSCodeLifecycleRepository} which issues targeted {@code $set} updates
+ *
+ * @author Oleksandr Myronenko
+ */
+public class JSCodeLifecycleRepositoryImpl implements JSCodeLifecycleRepository {
+    private static final String JS_CODE_ID = "_id";
+    private static final String STATUS_CODE = "statusCode";
+    private static final String OUTPUT_LINE_COUNT = "outputLineCount";
+    private static final String EXECUTION_TIME = "executionTime";
+    private static final String PHASES = "phases";
+    private static final String PROFILE = "profile";
+    private final MongoTemplate mongoTemplate;
+
+    public JSCodeLifecycleRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void applyStateChanges(List<JSCodeStateChange> stateChanges) {
+        if (stateChanges.isEmpty()) {
+            return;
+        }
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, JSCode.class);
+        for (JSCodeStateChange stateChange : stateChanges) {
+            bulkOperations.updateOne(toQuery(stateChange), toUpdate(stateChange));
+        }
+        bulkOperations.execute();
+    }
+
+    private Update toUpdate(JSCodeStateChange stateChange) {
+        Update update = new Update();
+        if (stateChange.statusCode() != null) {
+            update.set(STATUS_CODE, stateChange.statusCode());
+        }
+        if (stateChange.outputLineCount() != null) {
+            update.set(OUTPUT_LINE_COUNT, stateChange.outputLineCount());
+        }
+        if (stateChange.executionTime() != null) {
+            update.set(EXECUTION_TIME, stateChange.executionTime());
+        }
+        if (stateChange.phases() != null) {
+            update.set(PHASES, stateChange.phases());
+        }
+        if (stateChange.profile() != null) {
+            update.set(PROFILE, stateChange.profile());
+        }
+        return update;
+    }
+
+    private Query toQuery(JSCodeStateChange stateChange) {
+        Criteria criteria = Criteria.where(JS_CODE_ID).is(stateChange.jsCodeId());
+        JSCodeStatus statusCode = stateChange.statusCode();
+        if (statusCode == null) {
+            return Query.query(criteria);
+        }
+        // js code stopped or failed by another writer keeps its status
+        JSCodeStatus previousStatusCode = getPreviousStatus(statusCode);
+        JSCodeStatus firstStatusCode = stateChange.firstStatusCode();
+        if (firstStatusCode == null || getPreviousStatus(firstStatusCode) == previousStatusCode) {
+            return Query.query(criteria.and(STATUS_CODE).is(previousStatusCode));
+        }
+        // start of execution was merged with its result, so document may still be planned
+        return Query.query(criteria.and(STATUS_CODE).in(getPreviousStatus(firstStatusCode), previousStatusCode));
+    }
+
+    private JSCodeStatus getPreviousStatus(JSCodeStatus statusCode) {
+        return statusCode.isTerminal() ? JSCodeStatus.EXECUTING : JSCodeStatus.PLANNED;
+    }
+}
@@ -0,0 +1,25 @@
+package com.alex.jsinterpreter.repository;
+
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+
+import java.util.List;
+
+/**
+ * This interface is used to list {@link JSCode} documents page by page
+ *
+ * @author Oleksandr Myronenko
+ */
+public interface JSCodeListingRepository {
+    /**
+     * method is used to find page of js codes sorted descending by sort param and started after cursor.
+     * Only fields of common response are fetched, script body and results are not loaded
+     *
+     * @param jsCodeStatus optional js code status, null means all statuses
+     * @param sortBy       sort param, id or scheduled time
+     * @param cursor       optional position of last js code of previous page, null means first page
+     * @param limit        maximum count of js codes
+     * @return list of {@link JSCode} with only listed fields
+     */
+    List<JSCode> findPage(JSCodeStatus jsCodeStatus, String sortBy, JSCodeCursor cursor, int limit);
+}
@@ -0,0 +1,75 @@
+package com.alex.jsinterpreter.repository;
+
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * implementation of {@link JSCodeListingRepository} which uses keyset pagination and projection
+ *
+ * @author Oleksandr Myronenko
+ */
+public class JSCodeListingRepositoryImpl implements JSCodeListingRepository {
+    private static final String JS_CODE_ID = "_id";
+    private static final String STATUS_CODE = "statusCode";
+    private static final String SCHEDULED_TIME = "scheduledTime";
+    private static final String EXECUTION_TIME = "executionTime";
+    private final MongoTemplate mongoTemplate;
+
+    public JSCodeListingRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<JSCode> findPage(JSCodeStatus jsCodeStatus, String sortBy, JSCodeCursor cursor, int limit) {
+        return mongoTemplate.find(pageQuery(jsCodeStatus, sortBy, cursor, limit), JSCode.class);
+    }
+
+    /**
+     * using for building query of page which is shared by blocking and reactive listing
+     *
+     * @param jsCodeStatus optional status of js codes, null for all statuses
+     * @param sortBy       sorting param, js codes are sorted by id if it is not scheduled time
+     * @param cursor       optional cursor of previous page, null for the first page
+     * @param limit        maximum count of js codes, 0 is unlimited
+     * @return query of page
+     */
+    static Query pageQuery(JSCodeStatus jsCodeStatus, String sortBy, JSCodeCursor cursor, int limit) {
+        boolean sortedByScheduledTime = SCHEDULED_TIME.equals(sortBy);
+        List<Criteria> criteria = new ArrayList<>();
+        if (jsCodeStatus != null) {
+            criteria.add(Criteria.where(STATUS_CODE).is(jsCodeStatus));
+        }
+        if (cursor != null) {
+            criteria.add(sortedByScheduledTime ? afterScheduledTime(cursor) : afterId(cursor));
+        }
+        Query query = criteria.isEmpty() ? new Query() : Query.query(new Criteria().andOperator(criteria));
+        query.fields().include(STATUS_CODE, SCHEDULED_TIME, EXECUTION_TIME);
+        Sort sort = Sort.by(Sort.Direction.DESC, JS_CODE_ID);
+        if (sortedByScheduledTime) {
+            sort = Sort.by(Sort.Direction.DESC, SCHEDULED_TIME).and(sort);
+        }
+        return query.with(sort).limit(limit);
+    }
+
+    private static Criteria afterId(JSCodeCursor cursor) {
+        return Criteria.where(JS_CODE_ID).lt(toId(cursor.jsCodeId()));
+    }
+
+    private static Criteria afterScheduledTime(JSCodeCursor cursor) {
+        return new Criteria().orOperator(
+                Criteria.where(SCHEDULED_TIME).lt(cursor.scheduledTime()),
+                Criteria.where(SCHEDULED_TIME).is(cursor.scheduledTime()).and(JS_CODE_ID).lt(toId(cursor.jsCodeId())));
+    }
+
+    private static Object toId(String jsCodeId) {
+        return ObjectId.isValid(jsCodeId) ? new ObjectId(jsCodeId) : jsCodeId;
+    }
+}
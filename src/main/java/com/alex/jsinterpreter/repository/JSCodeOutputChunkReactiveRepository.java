@@ -0,0 +1,30 @@
+package com.alex.jsinterpreter.repository;
+
+import com.alex.jsinterpreter.document.JSCodeOutputChunk;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * This interface interact with {@link JSCodeOutputChunk} without blocking of caller thread
+ *
+ * @author Oleksandr Myronenko
+ */
+public interface JSCodeOutputChunkReactiveRepository extends ReactiveMongoRepository<JSCodeOutputChunk, String> {
+    /**
+     * method is used to find ordered chunks of js code output which start before line
+     *
+     * @param jsCodeId  js code id
+     * @param untilLine last line of range exclusive
+     * @return flux of {@link JSCodeOutputChunk} ordered by first line
+     */
+    Flux<JSCodeOutputChunk> findByJsCodeIdAndFirstLineLessThanOrderByFirstLine(String jsCodeId, long untilLine);
+
+    /**
+     * method is used to delete all chunks of js code output
+     *
+     * @param jsCodeId js code id
+     * @return count of deleted chunks
+     */
+    Mono<Long> deleteByJsCodeId(String jsCodeId);
+}
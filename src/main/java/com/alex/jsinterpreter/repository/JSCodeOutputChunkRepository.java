@@ -0,0 +1,40 @@
+package com.alex.jsinterpreter.repository;
+
+import com.alex.jsinterpreter.document.JSCodeOutputChunk;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * This interface interact with {@link JSCodeOutputChunk}
+ *
+ * @author Oleksandr Myronenko
+ */
+public interface JSCodeOutputChunkRepository extends MongoRepository<JSCodeOutputChunk, String> {
+    /**
+     * method is used to find ordered chunks of js code output which intersect range of lines
+     *
+     * @param jsCodeId  js code id
+     * @param fromLine  first line of range inclusive
+     * @param untilLine last line of range exclusive
+     * @return list of {@link JSCodeOutputChunk} ordered by first line
+     */
+    List<JSCodeOutputChunk> findByJsCodeIdAndLastLineGreaterThanAndFirstLineLessThanOrderByFirstLine(
+            String jsCodeId, long fromLine, long untilLine);
+
+    /**
+     * method is used to stream all ordered chunks of js code output
+     *
+     * @param jsCodeId js code id
+     * @return stream of {@link JSCodeOutputChunk} ordered by first line
+     */
+    Stream<JSCodeOutputChunk> streamByJsCodeIdOrderByFirstLine(String jsCodeId);
+
+    /**
+     * method is used to delete all chunks of js code output
+     *
+     * @param jsCodeId js code id
+     */
+    void deleteByJsCodeId(String jsCodeId);
+}
@@ -0,0 +1,23 @@
+package com.alex.jsinterpreter.repository;
+
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import reactor.core.publisher.Flux;
+
+/**
+ * This interface streams js codes for listing without blocking of caller thread
+ *
+ * @author Oleksandr Myronenko
+ */
+public interface JSCodeReactiveListingRepository {
+    /**
+     * method is used to stream js codes in descending order which contain only fields of common response
+     *
+     * @param jsCodeStatus optional status of js codes, null for all statuses
+     * @param sortBy       sorting param, js codes are sorted by id if it is not scheduled time
+     * @param cursor       optional cursor of previous page, null for the first js code
+     * @param limit        maximum count of js codes, 0 is unlimited
+     * @return flux of {@link JSCode}
+     */
+    Flux<JSCode> streamPage(JSCodeStatus jsCodeStatus, String sortBy, JSCodeCursor cursor, int limit);
+}
@@ -0,0 +1,25 @@
+package com.alex.jsinterpreter.repository;
+
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+
+/**
+ * implementation of {@link JSCodeReactiveListingRepository} which uses the same keyset query as blocking listing
+ *
+ * @author Oleksandr Myronenko
+ */
+public class JSCodeReactiveListingRepositoryImpl implements JSCodeReactiveListingRepository {
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public JSCodeReactiveListingRepositoryImpl(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    @Override
+    public Flux<JSCode> streamPage(JSCodeStatus jsCodeStatus, String sortBy, JSCodeCursor cursor, int limit) {
+        return reactiveMongoTemplate.find(JSCodeListingRepositoryImpl.pageQuery(jsCodeStatus, sortBy, cursor, limit),
+                JSCode.class);
+    }
+}
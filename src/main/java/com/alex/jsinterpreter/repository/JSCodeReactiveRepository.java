@@ -0,0 +1,13 @@
+package com.alex.jsinterpreter.repository;
+
+import com.alex.jsinterpreter.document.JSCode;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+/**
+ * This interface interact with {@link JSCode} without blocking of caller thread
+ *
+ * @author Oleksandr Myronenko
+ */
+public interface JSCodeReactiveRepository extends ReactiveMongoRepository<JSCode, String>,
+        JSCodeReactiveListingRepository {
+}
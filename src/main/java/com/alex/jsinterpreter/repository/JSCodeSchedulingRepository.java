@@ -0,0 +1,95 @@
+package com.alex.jsinterpreter.repository;
+
+import com.alex.jsinterpreter.document.JSCode;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * This interface is used to atomically claim and stop {@link JSCode} documents which are owned by application
+ * nodes through leases
+ *
+ * @author Oleksandr Myronenko
+ */
+public interface JSCodeSchedulingRepository {
+    /**
+     * method is used to atomically take lease of the earliest planned js code which is scheduled before time
+     * and is not owned by alive node. Only id and scheduled time are fetched
+     *
+     * @param until          upper bound of scheduled time inclusive
+     * @param nodeId         id of node which takes lease
+     * @param leaseExpiresAt expiration time of lease
+     * @return {@link JSCode} with id and scheduled time or empty if there is no such js code
+     */
+    Optional<JSCode> claimLease(Instant until, String nodeId, Instant leaseExpiresAt);
+
+    /**
+     * method is used to atomically move planned js code owned by node to executing status
+     *
+     * @param jsCodeId       js code id
+     * @param nodeId         id of owner node
+     * @param leaseExpiresAt new expiration time of lease
+     * @return claimed {@link JSCode} or empty if js code is not planned or not owned by node anymore
+     */
+    Optional<JSCode> claimPlanned(String jsCodeId, String nodeId, Instant leaseExpiresAt);
+
+    /**
+     * method is used to atomically move planned js code to stopped status
+     *
+     * @param jsCodeId js code id
+     * @return stopped {@link JSCode} or empty if js code was not planned
+     */
+    Optional<JSCode> stopPlanned(String jsCodeId);
+
+    /**
+     * method is used to mark executing js code as requested for stop, owner node stops it
+     *
+     * @param jsCodeId js code id
+     * @return executing {@link JSCode} with id and owner node or empty if js code is not executing
+     */
+    Optional<JSCode> requestStop(String jsCodeId);
+
+    /**
+     * method is used to find executing js codes of node which were requested for stop
+     *
+     * @param nodeId id of owner node
+     * @return list of {@link JSCode} with id only
+     */
+    List<JSCode> findStopRequested(String nodeId);
+
+    /**
+     * method is used to renew leases of planned and executing js codes which are held by node
+     *
+     * @param nodeId         id of owner node
+     * @param jsCodeIds      ids of js codes which are scheduled, queued or executing on node
+     * @param leaseExpiresAt new expiration time of lease
+     * @return count of renewed leases
+     */
+    long renewLeases(String nodeId, Collection<String> jsCodeIds, Instant leaseExpiresAt);
+
+    /**
+     * method is used to release leases of planned js codes of node, so they are claimed by poller again
+     *
+     * @param nodeId id of owner node
+     * @return count of released leases
+     */
+    long releasePlannedLeases(String nodeId);
+
+    /**
+     * method is used to move executing js codes of node to failed status, their execution can not be resumed
+     *
+     * @param nodeId id of owner node
+     * @return count of failed js codes
+     */
+    long failExecutions(String nodeId);
+
+    /**
+     * method is used to move executing js codes with expired lease to failed status, their owner node is dead
+     *
+     * @param now current time
+     * @return list of failed {@link JSCode}
+     */
+    List<JSCode> failExpiredExecutions(Instant now);
+}
@@ -0,0 +1,129 @@
+package com.alex.jsinterpreter.repository;
+
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * implementation of {@link JSCodeSchedulingRepository} which is backed by indexes on status, scheduled time
+ * and owner node
+ *
+ * @author Oleksandr Myronenko
+ */
+public class JSCodeSchedulingRepositoryImpl implements JSCodeSchedulingRepository {
+    private static final String JS_CODE_ID = "_id";
+    private static final String STATUS_CODE = "statusCode";
+    private static final String SCHEDULED_TIME = "scheduledTime";
+    private static final String OWNER_NODE_ID = "ownerNodeId";
+    private static final String LEASE_EXPIRES_AT = "leaseExpiresAt";
+    private static final String STOP_REQUESTED = "stopRequested";
+    private static final String PRIORITY = "priority";
+    private static final String TENANT_ID = "tenantId";
+    private final MongoTemplate mongoTemplate;
+
+    public JSCodeSchedulingRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<JSCode> claimLease(Instant until, String nodeId, Instant leaseExpiresAt) {
+        Query query = Query.query(Criteria.where(STATUS_CODE).is(JSCodeStatus.PLANNED).and(SCHEDULED_TIME).lte(until)
+                        .orOperator(Criteria.where(OWNER_NODE_ID).is(null),
+                                Criteria.where(LEASE_EXPIRES_AT).lt(Instant.now())))
+                .with(Sort.by(Sort.Direction.ASC, SCHEDULED_TIME));
+        // priority and tenant are needed for fair dispatching of leased js code
+        query.fields().include(SCHEDULED_TIME, OWNER_NODE_ID, PRIORITY, TENANT_ID);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, lease(nodeId, leaseExpiresAt),
+                FindAndModifyOptions.options().returnNew(true), JSCode.class));
+    }
+
+    @Override
+    public Optional<JSCode> claimPlanned(String jsCodeId, String nodeId, Instant leaseExpiresAt) {
+        Query query = Query.query(Criteria.where(JS_CODE_ID).is(jsCodeId).and(STATUS_CODE).is(JSCodeStatus.PLANNED)
+                .and(OWNER_NODE_ID).is(nodeId));
+        Update update = lease(nodeId, leaseExpiresAt).set(STATUS_CODE, JSCodeStatus.EXECUTING);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), JSCode.class));
+    }
+
+    @Override
+    public Optional<JSCode> stopPlanned(String jsCodeId) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(byIdAndStatus(jsCodeId, JSCodeStatus.PLANNED),
+                Update.update(STATUS_CODE, JSCodeStatus.STOPPED), FindAndModifyOptions.options().returnNew(true),
+                JSCode.class));
+    }
+
+    @Override
+    public Optional<JSCode> requestStop(String jsCodeId) {
+        Query query = byIdAndStatus(jsCodeId, JSCodeStatus.EXECUTING);
+        query.fields().include(OWNER_NODE_ID);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, Update.update(STOP_REQUESTED, true),
+                FindAndModifyOptions.options().returnNew(true), JSCode.class));
+    }
+
+    @Override
+    public List<JSCode> findStopRequested(String nodeId) {
+        Query query = Query.query(Criteria.where(OWNER_NODE_ID).is(nodeId).and(STATUS_CODE).is(JSCodeStatus.EXECUTING)
+                .and(STOP_REQUESTED).is(true));
+        query.fields().include(JS_CODE_ID);
+        return mongoTemplate.find(query, JSCode.class);
+    }
+
+    @Override
+    public long renewLeases(String nodeId, Collection<String> jsCodeIds, Instant leaseExpiresAt) {
+        if (jsCodeIds.isEmpty()) {
+            return 0L;
+        }
+        Query query = Query.query(Criteria.where(JS_CODE_ID).in(jsCodeIds).and(OWNER_NODE_ID).is(nodeId)
+                .and(STATUS_CODE).in(JSCodeStatus.PLANNED, JSCodeStatus.EXECUTING));
+        return mongoTemplate.updateMulti(query, Update.update(LEASE_EXPIRES_AT, leaseExpiresAt), JSCode.class)
+                .getModifiedCount();
+    }
+
+    @Override
+    public long releasePlannedLeases(String nodeId) {
+        Query query = Query.query(Criteria.where(OWNER_NODE_ID).is(nodeId).and(STATUS_CODE).is(JSCodeStatus.PLANNED));
+        return mongoTemplate.updateMulti(query, new Update().unset(OWNER_NODE_ID).unset(LEASE_EXPIRES_AT),
+                JSCode.class).getModifiedCount();
+    }
+
+    @Override
+    public long failExecutions(String nodeId) {
+        Query query = Query.query(Criteria.where(OWNER_NODE_ID).is(nodeId).and(STATUS_CODE)
+                .is(JSCodeStatus.EXECUTING));
+        return mongoTemplate.updateMulti(query, Update.update(STATUS_CODE, JSCodeStatus.FAILED), JSCode.class)
+                .getModifiedCount();
+    }
+
+    @Override
+    public List<JSCode> failExpiredExecutions(Instant now) {
+        Query query = Query.query(Criteria.where(STATUS_CODE).is(JSCodeStatus.EXECUTING).and(LEASE_EXPIRES_AT).lt(now));
+        // js codes are failed one by one, so exactly those which were failed are returned to their waiters
+        List<JSCode> failedJSCodes = new ArrayList<>();
+        JSCode failedJSCode;
+        while ((failedJSCode = mongoTemplate.findAndModify(query, Update.update(STATUS_CODE, JSCodeStatus.FAILED),
+                FindAndModifyOptions.options().returnNew(true), JSCode.class)) != null) {
+            failedJSCodes.add(failedJSCode);
+        }
+        return failedJSCodes;
+    }
+
+    private Update lease(String nodeId, Instant leaseExpiresAt) {
+        return new Update().set(OWNER_NODE_ID, nodeId).set(LEASE_EXPIRES_AT, leaseExpiresAt);
+    }
+
+    private Query byIdAndStatus(String jsCodeId, JSCodeStatus jsCodeStatus) {
+        return Query.query(Criteria.where(JS_CODE_ID).is(jsCodeId).and(STATUS_CODE).is(jsCodeStatus));
+    }
+}
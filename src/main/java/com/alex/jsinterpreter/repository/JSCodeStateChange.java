@@ -0,0 +1,58 @@
+package com.alex.jsinterpreter.repository;
+
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodePhases;
+import com.alex.jsinterpreter.document.JSCodeProfile;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+
+/**
+ * record represents change of {@link JSCode} execution state, only not null fields are updated
+ *
+ * @param jsCodeId      js code id
+ * @param statusCode    new js code status
+ * @param outputLineCount new count of output lines
+ * @param executionTime new execution time
+ * @param phases        new time of execution phases
+ * @param profile       CPU profile of execution
+ * @param firstStatusCode status of the earliest change which was merged into this one
+ * @author Oleksandr Myronenko
+ */
+public record JSCodeStateChange(String jsCodeId, JSCodeStatus statusCode, Long outputLineCount,
+                                Long executionTime, JSCodePhases phases, JSCodeProfile profile,
+                                JSCodeStatus firstStatusCode) {
+    public JSCodeStateChange(String jsCodeId, JSCodeStatus statusCode, Long outputLineCount, Long executionTime,
+                             JSCodePhases phases, JSCodeProfile profile) {
+        this(jsCodeId, statusCode, outputLineCount, executionTime, phases, profile, statusCode);
+    }
+
+    public JSCodeStateChange(String jsCodeId, JSCodeStatus statusCode, Long outputLineCount, Long executionTime) {
+        this(jsCodeId, statusCode, outputLineCount, executionTime, null, null);
+    }
+
+    /**
+     * using for creating change of js code status
+     *
+     * @param jsCodeId     js code id
+     * @param jsCodeStatus new js code status
+     * @return state change
+     */
+    public static JSCodeStateChange ofStatus(String jsCodeId, JSCodeStatus jsCodeStatus) {
+        return new JSCodeStateChange(jsCodeId, jsCodeStatus, null, null);
+    }
+
+    /**
+     * using for merging this change with the later one of the same js code
+     *
+     * @param later later change
+     * @return merged change where fields of later change win
+     */
+    public JSCodeStateChange merge(JSCodeStateChange later) {
+        return new JSCodeStateChange(jsCodeId,
+                later.statusCode() != null ? later.statusCode() : statusCode,
+                later.outputLineCount() != null ? later.outputLineCount() : outputLineCount,
+                later.executionTime() != null ? later.executionTime() : executionTime,
+                later.phases() != null ? later.phases() : phases,
+                later.profile() != null ? later.profile() : profile,
+                firstStatusCode != null ? firstStatusCode : later.firstStatusCode());
+    }
+}
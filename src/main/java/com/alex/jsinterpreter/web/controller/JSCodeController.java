@@ -1,14 +1,30 @@
 package com.alex.jsinterpreter.web.controller;
 
+import com.alex.jsinterpreter.document.JSCodeLimits;
+import com.alex.jsinterpreter.document.JSCodeProfile;
+import com.alex.jsinterpreter.domain.dto.JSCodeBatchItem;
+import com.alex.jsinterpreter.domain.dto.JSCodeBatchResult;
 import com.alex.jsinterpreter.domain.dto.JSCodeCommonResponse;
 import com.alex.jsinterpreter.domain.dto.JSCodeDetailedResponse;
+import com.alex.jsinterpreter.domain.dto.JSCodeOutputResponse;
+import com.alex.jsinterpreter.domain.dto.JSCodePage;
+import com.alex.jsinterpreter.domain.dto.JSCodeSubmissionResponse;
+import com.alex.jsinterpreter.logic.service.JSCodeCompletionService;
 import com.alex.jsinterpreter.logic.service.JSCodeManager;
+import com.alex.jsinterpreter.logic.service.JSCodeOutputService;
+import com.alex.jsinterpreter.logic.service.JSCodeOutputStreamService;
 import com.alex.jsinterpreter.logic.service.JSCodeService;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,22 +36,90 @@ import java.util.Optional;
  */
 @RestController
 @RequestMapping("/api/v1/js-codes")
-public record JSCodeController(JSCodeService jsCodeService, JSCodeManager jsCodeManager) {
+public record JSCodeController(JSCodeService jsCodeService, JSCodeManager jsCodeManager,
+                               JSCodeOutputService jsCodeOutputService,
+                               JSCodeOutputStreamService jsCodeOutputStreamService,
+                               JSCodeCompletionService jsCodeCompletionService) {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String TENANT_ID_HEADER = "X-Tenant-Id";
+    private static final String INTERACTIVE_PRIORITY = "interactive";
+    private static final String NORMAL_PRIORITY = "normal";
+    private static final String BULK_PRIORITY = "bulk";
+
     @PostMapping
     public ResponseEntity<List<String>> executeJSCode(HttpServletResponse response, @RequestBody String jsCode,
                                                       @RequestParam(required = false) String scheduledTime,
-                                                      @RequestParam(required = false) boolean showResults) {
-        List<String> scriptResults = jsCodeManager.executeJSCode(jsCode, scheduledTime, showResults);
+                                                      @RequestParam(required = false) boolean showResults,
+                                                      @RequestParam(required = false) Long timeoutMillis,
+                                                      @RequestParam(required = false) Long statementLimit,
+                                                      @RequestParam(required = false) Long allocationLimitBytes,
+                                                      @RequestParam Optional<String> priority,
+                                                      @RequestHeader(TENANT_ID_HEADER) Optional<String> tenantId,
+                                                      @RequestParam(required = false) boolean profile,
+                                                      @RequestParam(required = false) boolean memoize,
+                                                      @RequestHeader(IDEMPOTENCY_KEY_HEADER)
+                                                      Optional<String> idempotencyKey) {
+        // memoized result does not have profile, so profiled js code is always executed
+        Optional<JSCodeDetailedResponse> memoized = profile ? Optional.empty()
+                : jsCodeManager.getMemoizedJSCode(jsCode, scheduledTime, memoize, idempotencyKey);
+        if (memoized.isPresent()) {
+            ResponseEntity.BodyBuilder memoizedResponse = ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_LOCATION, "/api/v1/js-codes/" + memoized.get().getJsCodeId());
+            return showResults ? memoizedResponse.body(memoized.get().getScriptResults())
+                    : memoizedResponse.build();
+        }
+        List<String> scriptResults = jsCodeManager.executeJSCode(jsCode, scheduledTime, showResults,
+                new JSCodeLimits(timeoutMillis, statementLimit, allocationLimitBytes),
+                priority.orElse(showResults ? INTERACTIVE_PRIORITY : NORMAL_PRIORITY), tenantId, profile,
+                memoize && !profile, idempotencyKey);
         if (showResults) {
             return new ResponseEntity<>(scriptResults, HttpStatus.ACCEPTED);
         }
         return new ResponseEntity<>(HttpStatus.ACCEPTED);
     }
 
+    @PostMapping(params = "async=true")
+    public ResponseEntity<JSCodeSubmissionResponse> submitJSCode(@RequestBody String jsCode,
+                                                                 @RequestParam(required = false) Long timeoutMillis,
+                                                                 @RequestParam(required = false) Long statementLimit,
+                                                                 @RequestParam(required = false)
+                                                                 Long allocationLimitBytes,
+                                                                 @RequestParam(defaultValue = NORMAL_PRIORITY)
+                                                                 String priority,
+                                                                 @RequestHeader(TENANT_ID_HEADER)
+                                                                 Optional<String> tenantId,
+                                                                 @RequestParam(required = false) boolean profile) {
+        String jsCodeId = jsCodeManager.submitJSCode(jsCode,
+                new JSCodeLimits(timeoutMillis, statementLimit, allocationLimitBytes), priority, tenantId, profile);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/js-codes/" + jsCodeId + "/completion"))
+                .body(new JSCodeSubmissionResponse(jsCodeId));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<JSCodeBatchResult>> executeJSCodeBatch(@RequestBody List<JSCodeBatchItem> jsCodes,
+                                                                      @RequestParam(required = false)
+                                                                      boolean showResults,
+                                                                      @RequestParam(defaultValue = BULK_PRIORITY)
+                                                                      String priority,
+                                                                      @RequestHeader(TENANT_ID_HEADER)
+                                                                      Optional<String> tenantId) {
+        return new ResponseEntity<>(jsCodeManager.executeJSCodeBatch(jsCodes, showResults, priority, tenantId),
+                HttpStatus.ACCEPTED);
+    }
+
     @GetMapping
-    public List<JSCodeCommonResponse> getJSCodes(@RequestParam Optional<String> status,
-                                                 @RequestParam Optional<String> sortBy) {
-        return jsCodeService.getListJSCodes(status, sortBy);
+    public ResponseEntity<List<JSCodeCommonResponse>> getJSCodes(@RequestParam Optional<String> status,
+                                                                 @RequestParam Optional<String> sortBy,
+                                                                 @RequestParam Optional<String> cursor,
+                                                                 @RequestParam Optional<Integer> limit) {
+        JSCodePage jsCodePage = jsCodeService.getListJSCodes(status, sortBy, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (jsCodePage.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, jsCodePage.nextCursor());
+        }
+        return response.body(jsCodePage.jsCodes());
     }
 
     @GetMapping("/{id}")
@@ -43,6 +127,34 @@ public record JSCodeController(JSCodeService jsCodeService, JSCodeManager jsCode
         return jsCodeService.getDetailedJSCodeById(id);
     }
 
+    @GetMapping("/{id}/completion")
+    public DeferredResult<ResponseEntity<JSCodeDetailedResponse>> awaitCompletionJSCode(
+            @PathVariable("id") String id, @RequestParam Optional<Long> timeoutMillis) {
+        return jsCodeCompletionService.awaitCompletion(id, timeoutMillis.map(Duration::ofMillis));
+    }
+
+    @GetMapping("/{id}/profile")
+    public JSCodeProfile getProfileJSCode(@PathVariable("id") String id) {
+        return jsCodeService.getProfile(id);
+    }
+
+    @GetMapping(value = "/{id}/profile/collapsed", produces = MediaType.TEXT_PLAIN_VALUE)
+    public String getCollapsedStacksJSCode(@PathVariable("id") String id) {
+        return String.join("\n", jsCodeService.getProfile(id).getCollapsedStacks());
+    }
+
+    @GetMapping("/{id}/output")
+    public JSCodeOutputResponse getOutputJSCode(@PathVariable("id") String id,
+                                                @RequestParam(defaultValue = "0") long offset,
+                                                @RequestParam(defaultValue = "100") int limit) {
+        return new JSCodeOutputResponse(id, offset, jsCodeOutputService.getOutput(id, offset, limit));
+    }
+
+    @GetMapping(value = "/{id}/output/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOutputJSCode(@PathVariable("id") String id) {
+        return jsCodeOutputStreamService.streamOutput(id);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Void> stopExecutionJSCode(@PathVariable("id") String id) {
         jsCodeManager.stopJSCode(id);
@@ -0,0 +1,57 @@
+package com.alex.jsinterpreter.web.controller;
+
+import com.alex.jsinterpreter.document.JSCodeLimits;
+import com.alex.jsinterpreter.domain.dto.JSCodeCommonResponse;
+import com.alex.jsinterpreter.domain.dto.JSCodeDetailedResponse;
+import com.alex.jsinterpreter.logic.service.JSCodeReactiveService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * This class {@code JSCodeReactiveController } represents reactive variant of API which allow us doing operation
+ * with javascript code without holding request thread while database or execution is awaited.
+ *
+ * @author Oleksandr Myronenko
+ */
+@RestController
+@RequestMapping("/api/v2/js-codes")
+public record JSCodeReactiveController(JSCodeReactiveService jsCodeReactiveService) {
+    @PostMapping
+    public Mono<JSCodeDetailedResponse> executeJSCode(@RequestBody String jsCode,
+                                                      @RequestParam(required = false) Long timeoutMillis,
+                                                      @RequestParam(required = false) Long statementLimit,
+                                                      @RequestParam(required = false) Long allocationLimitBytes,
+                                                      @RequestParam(defaultValue = "interactive") String priority,
+                                                      @RequestHeader("X-Tenant-Id") Optional<String> tenantId,
+                                                      @RequestParam(required = false) boolean profile) {
+        return jsCodeReactiveService.executeJSCode(jsCode,
+                new JSCodeLimits(timeoutMillis, statementLimit, allocationLimitBytes), priority, tenantId, profile);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<JSCodeCommonResponse> getJSCodes(@RequestParam Optional<String> status,
+                                                 @RequestParam Optional<String> sortBy,
+                                                 @RequestParam Optional<String> cursor,
+                                                 @RequestParam Optional<Integer> limit) {
+        return jsCodeReactiveService.streamJSCodes(status, sortBy, cursor, limit);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<JSCodeDetailedResponse> getJSCodeById(@PathVariable("id") String id) {
+        return jsCodeReactiveService.getDetailedJSCodeById(id);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<Void> stopExecutionJSCode(@PathVariable("id") String id) {
+        return jsCodeReactiveService.stopJSCode(id);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteInactiveJSCode(@PathVariable("id") String id) {
+        return jsCodeReactiveService.deleteInactiveJSCode(id);
+    }
+}
@@ -0,0 +1,47 @@
+package com.alex.jsinterpreter.web.controller;
+
+import com.alex.jsinterpreter.document.JSCodeLimits;
+import com.alex.jsinterpreter.domain.dto.JSSessionExecutionResponse;
+import com.alex.jsinterpreter.domain.dto.JSSessionResponse;
+import com.alex.jsinterpreter.logic.session.JSSessionManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * This class {@code JSSessionController } represents endpoints of API which allow us executing javascript code
+ * in sessions which keep js state across executions.
+ *
+ * @author Oleksandr Myronenko
+ */
+@RestController
+@RequestMapping("/api/v1/js-sessions")
+public record JSSessionController(JSSessionManager jsSessionManager) {
+    @PostMapping
+    public ResponseEntity<JSSessionResponse> createSession() {
+        JSSessionResponse session = jsSessionManager.createSession();
+        return ResponseEntity.created(URI.create("/api/v1/js-sessions/" + session.sessionId())).body(session);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<JSSessionResponse> getSession(@PathVariable("id") String id) {
+        return ResponseEntity.ok(jsSessionManager.getSession(id));
+    }
+
+    @PostMapping("/{id}/executions")
+    public ResponseEntity<JSSessionExecutionResponse> executeInSession(
+            @PathVariable("id") String id, @RequestBody String jsCode,
+            @RequestParam(required = false) Long timeoutMillis,
+            @RequestParam(required = false) Long allocationLimitBytes) {
+        return ResponseEntity.ok(jsSessionManager.executeInSession(id, jsCode,
+                new JSCodeLimits(timeoutMillis, null, allocationLimitBytes)));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> closeSession(@PathVariable("id") String id) {
+        jsSessionManager.closeSession(id);
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+}
@@ -1,5 +1,8 @@
 package com.alex.jsinterpreter.web.exception;
 
+import com.alex.jsinterpreter.logic.admission.JSCodeRejectedException;
+import com.alex.jsinterpreter.logic.session.JSSessionNotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +26,32 @@ public class ResponseExceptionHandler {
                 .build();
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public final ResponseEntity<Object> handleIllegalArgumentException(IllegalArgumentException exception) {
+        return ResponseEntity
+                .of(ProblemDetail
+                        .forStatusAndDetail(HttpStatus.BAD_REQUEST, exception.getMessage()))
+                .build();
+    }
+
+    @ExceptionHandler(JSCodeRejectedException.class)
+    public final ResponseEntity<Object> handleJSCodeRejectedException(JSCodeRejectedException exception) {
+        long retryAfterSeconds = Math.max(1L, (exception.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(ProblemDetail
+                        .forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, exception.getMessage()));
+    }
+
+    @ExceptionHandler(JSSessionNotFoundException.class)
+    public final ResponseEntity<Object> handleJSSessionNotFoundException(JSSessionNotFoundException exception) {
+        return ResponseEntity
+                .of(ProblemDetail
+                        .forStatusAndDetail(HttpStatus.NOT_FOUND, "JS session was not found by id"))
+                .build();
+    }
+
     @ExceptionHandler(NoSuchElementException.class)
     public final ResponseEntity<Object> handleNoSuchElementException(NoSuchElementException exception) {
         return ResponseEntity
@@ -0,0 +1,30 @@
+package com.alex.jsinterpreter.config;
+
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodePhases;
+import com.alex.jsinterpreter.logic.collector.JSCodeCollectionCollector;
+import org.graalvm.polyglot.Value;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * class responsible for testing {@link JSNativeRuntimeHints} class methods
+ *
+ * @author Oleksandr Myronenko
+ */
+class JSNativeRuntimeHintsTest {
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void documentsAndCollectorAreRegisteredTest() throws NoSuchMethodException {
+        new JSNativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+        assertTrue(RuntimeHintsPredicates.reflection().onType(JSCode.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onField(JSCodePhases.class, "evalNanos").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(JSCodeCollectionCollector.class.getMethod("execute", Value[].class))
+                .test(hints));
+    }
+}
@@ -0,0 +1,192 @@
+package com.alex.jsinterpreter.logic;
+
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodeLimits;
+import com.alex.jsinterpreter.document.JSCodeOutputChunk;
+import com.alex.jsinterpreter.document.JSCodeProfile;
+import com.alex.jsinterpreter.document.JSCodeProfileFunction;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import com.alex.jsinterpreter.logic.job.ExecutorJSCodeJob;
+import com.alex.jsinterpreter.repository.JSCodeOutputChunkRepository;
+import com.alex.jsinterpreter.repository.JSCodeRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * class responsible for testing {@link ExecutorJSCodeJob} class methods
+ *
+ * @author Oleksandr Myronenko
+ */
+@SpringBootTest(properties = {"js-interpreter.output.chunk-lines=64",
+        "spring.data.mongodb.auto-index-creation=false"})
+class ExecutorJSCodeJobTest {
+    private static final int JOBS_COUNT = 64;
+    private static final int LINES_PER_JOB = 200;
+    @Autowired
+    private ExecutorJSCodeJob executorJSCodeJob;
+    @MockBean
+    private JSCodeRepository jsCodeRepository;
+    @MockBean
+    private JSCodeOutputChunkRepository jsCodeOutputChunkRepository;
+
+    @Test
+    void concurrentExecutionsDoNotShareResultsTest() throws Exception {
+        Map<String, List<JSCodeOutputChunk>> outputChunks = new ConcurrentHashMap<>();
+        Mockito.when(jsCodeOutputChunkRepository.insert(Mockito.any(JSCodeOutputChunk.class))).thenAnswer(invocation -> {
+            JSCodeOutputChunk chunk = invocation.getArgument(0);
+            outputChunks.computeIfAbsent(chunk.getJsCodeId(), id -> new CopyOnWriteArrayList<>()).add(chunk);
+            return chunk;
+        });
+        List<JSCode> jsCodes = new ArrayList<>();
+        for (int i = 0; i < JOBS_COUNT; i++) {
+            JSCode jsCode = new JSCode(JSCodeStatus.PLANNED, getLoggingScript("job-" + i), null,
+                    Instant.now(), null);
+            jsCode.setJsCodeId("job-" + i);
+            jsCodes.add(jsCode);
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (JSCode jsCode : jsCodes) {
+                futures.add(executorService.submit(() -> {
+                    startLatch.await();
+                    executorJSCodeJob.executeJSCode(jsCode);
+                    return null;
+                }));
+            }
+            startLatch.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        for (JSCode jsCode : jsCodes) {
+            assertEquals(JSCodeStatus.COMPLETED, jsCode.getStatusCode());
+            assertEquals(LINES_PER_JOB, jsCode.getOutputLineCount());
+            assertTrue(jsCode.getPhases().getTotalNanos() >= jsCode.getPhases().getEvalNanos()
+                    + jsCode.getPhases().getOutputCaptureNanos());
+            assertTrue(jsCode.getPhases().getOutputCaptureNanos() > 0);
+            List<String> scriptResults = outputChunks.get(jsCode.getJsCodeId()).stream()
+                    .sorted(Comparator.comparingLong(JSCodeOutputChunk::getFirstLine))
+                    .flatMap(chunk -> chunk.getLines().stream())
+                    .toList();
+            assertEquals(LINES_PER_JOB, scriptResults.size());
+            for (int i = 0; i < LINES_PER_JOB; i++) {
+                assertEquals(jsCode.getJsCodeId() + ":" + i, scriptResults.get(i));
+            }
+        }
+    }
+
+    @Test
+    void cancelledExecutionIsStoppedTest() throws Exception {
+        JSCode jsCode = new JSCode(JSCodeStatus.PLANNED, "while (true) {}", null, Instant.now(), null);
+        jsCode.setJsCodeId("endless-job");
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> future = executorService.submit(() -> executorJSCodeJob.executeJSCode(jsCode));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (!executorJSCodeJob.cancelExecution(jsCode.getJsCodeId()) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            future.get(30, TimeUnit.SECONDS);
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(JSCodeStatus.STOPPED, jsCode.getStatusCode());
+    }
+
+    @Test
+    void executionExceededTimeoutIsTimedOutTest() {
+        JSCode jsCode = new JSCode(JSCodeStatus.PLANNED, "while (true) {}", null, Instant.now(), null);
+        jsCode.setJsCodeId("timed-out-job");
+        jsCode.setLimits(new JSCodeLimits(100L, null, null));
+        executorJSCodeJob.executeJSCode(jsCode);
+        assertEquals(JSCodeStatus.TIMED_OUT, jsCode.getStatusCode());
+        assertEquals(1, jsCode.getOutputLineCount());
+    }
+
+    @Test
+    void executionFailedOutsideOfScriptIsFailedTest() {
+        // source of missing script can not be created, so execution fails before eval without polyglot exception
+        JSCode jsCode = new JSCode(JSCodeStatus.PLANNED, null, null, Instant.now(), null);
+        jsCode.setJsCodeId("host-failed-job");
+        executorJSCodeJob.executeJSCode(jsCode);
+        assertEquals(JSCodeStatus.FAILED, jsCode.getStatusCode());
+        assertEquals(1, jsCode.getOutputLineCount());
+    }
+
+    @Test
+    void executionExceededStatementLimitIsTimedOutTest() {
+        JSCode jsCode = new JSCode(JSCodeStatus.PLANNED, "while (true) {}", null, Instant.now(), null);
+        jsCode.setJsCodeId("statement-limited-job");
+        jsCode.setLimits(new JSCodeLimits(null, 10_000L, null));
+        executorJSCodeJob.executeJSCode(jsCode);
+        assertEquals(JSCodeStatus.TIMED_OUT, jsCode.getStatusCode());
+    }
+
+    @Test
+    void executionExceededAllocationLimitIsFailedTest() {
+        JSCode jsCode = new JSCode(JSCodeStatus.PLANNED, "let items = []; while (true) { items.push({}); }", null,
+                Instant.now(), null);
+        jsCode.setJsCodeId("allocation-limited-job");
+        jsCode.setLimits(new JSCodeLimits(null, null, 1024L * 1024L));
+        executorJSCodeJob.executeJSCode(jsCode);
+        assertEquals(JSCodeStatus.FAILED, jsCode.getStatusCode());
+    }
+
+    @Test
+    void profiledExecutionStoresHotFunctionsTest() {
+        JSCode jsCode = new JSCode(JSCodeStatus.PLANNED, "function hot() {\n" +
+                "   let sum = 0;\n" +
+                "   for (let i = 0; i < 100000; i++) { sum += Math.sqrt(i); }\n" +
+                "   return sum;\n" +
+                "}\n" +
+                "const start = Date.now();\n" +
+                "while (Date.now() - start < 500) { hot(); }", null, Instant.now(), null);
+        jsCode.setJsCodeId("profiled-job");
+        jsCode.setProfiling(true);
+        executorJSCodeJob.executeJSCode(jsCode);
+        assertEquals(JSCodeStatus.COMPLETED, jsCode.getStatusCode());
+        JSCodeProfile profile = jsCode.getProfile();
+        assertNotNull(profile);
+        assertTrue(profile.getSamples() > 0);
+        JSCodeProfileFunction hotFunction = profile.getFunctions().stream()
+                .filter(function -> "hot".equals(function.getName()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("line 1", hotFunction.getLocation());
+        assertTrue(hotFunction.getSelfSamples() > 0);
+        assertTrue(hotFunction.getTotalTimeMillis() >= hotFunction.getSelfTimeMillis());
+        assertTrue(profile.getCollapsedStacks().stream()
+                .anyMatch(stack -> stack.matches(".*;hot \\(line 1\\) \\d+")));
+    }
+
+    @Test
+    void executionWithoutProfilingDoesNotStoreProfileTest() {
+        JSCode jsCode = new JSCode(JSCodeStatus.PLANNED, "console.log(1)", null, Instant.now(), null);
+        jsCode.setJsCodeId("not-profiled-job");
+        executorJSCodeJob.executeJSCode(jsCode);
+        assertEquals(JSCodeStatus.COMPLETED, jsCode.getStatusCode());
+        assertNull(jsCode.getProfile());
+    }
+
+    private String getLoggingScript(String jobId) {
+        return "for (let i = 0; i < " + LINES_PER_JOB + "; i++) {\n" +
+                "   console.log('" + jobId + ":' + i);\n" +
+                "}";
+    }
+}
@@ -0,0 +1,146 @@
+package com.alex.jsinterpreter.logic;
+
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodeLimits;
+import com.alex.jsinterpreter.document.JSCodeOutputChunk;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import com.alex.jsinterpreter.domain.dto.JSCodeBatchItem;
+import com.alex.jsinterpreter.domain.dto.JSCodeBatchResult;
+import com.alex.jsinterpreter.logic.completion.JSCodeCompletionRegistry;
+import com.alex.jsinterpreter.logic.service.JSCodeManager;
+import com.alex.jsinterpreter.repository.JSCodeOutputChunkRepository;
+import com.alex.jsinterpreter.repository.JSCodeRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * class responsible for testing {@link JSCodeManager} class methods
+ *
+ * @author Oleksandr Myronenko
+ */
+@SpringBootTest(properties = {"spring.data.mongodb.auto-index-creation=false", "js-interpreter.batch.max-size=8"})
+class JSCodeManagerTest {
+    private static final int BATCH_SIZE = 8;
+    @Autowired
+    private JSCodeManager jsCodeManager;
+    @Autowired
+    private JSCodeCompletionRegistry jsCodeCompletionRegistry;
+    @MockBean
+    private JSCodeRepository jsCodeRepository;
+    @MockBean
+    private JSCodeOutputChunkRepository jsCodeOutputChunkRepository;
+
+    @Test
+    void batchIsInsertedAtOnceAndReturnedInSubmissionOrderTest() {
+        Mockito.when(jsCodeRepository.insert(ArgumentMatchers.<List<JSCode>>any())).thenAnswer(invocation -> {
+            List<JSCode> jsCodes = invocation.getArgument(0);
+            for (int i = 0; i < jsCodes.size(); i++) {
+                jsCodes.get(i).setJsCodeId("batch-" + i);
+            }
+            return jsCodes;
+        });
+        Mockito.when(jsCodeRepository.claimPlanned(Mockito.anyString(), Mockito.anyString(), Mockito.any()))
+                .thenReturn(Optional.of(new JSCode()));
+        Map<String, JSCodeOutputChunk> outputChunks = new ConcurrentHashMap<>();
+        Mockito.when(jsCodeOutputChunkRepository.insert(Mockito.any(JSCodeOutputChunk.class))).thenAnswer(invocation -> {
+            JSCodeOutputChunk chunk = invocation.getArgument(0);
+            outputChunks.put(chunk.getJsCodeId(), chunk);
+            return chunk;
+        });
+        Mockito.when(jsCodeOutputChunkRepository.streamByJsCodeIdOrderByFirstLine(Mockito.anyString()))
+                .thenAnswer(invocation -> outputChunks.values().stream()
+                        .filter(chunk -> chunk.getJsCodeId().equals(invocation.getArgument(0))));
+        List<JSCodeBatchItem> items = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            items.add(new JSCodeBatchItem("console.log(" + i + " * 2)", null, null));
+        }
+        List<JSCodeBatchResult> results = jsCodeManager.executeJSCodeBatch(items, true, "bulk", Optional.empty());
+        Mockito.verify(jsCodeRepository, Mockito.times(1)).insert(ArgumentMatchers.<List<JSCode>>any());
+        assertEquals(BATCH_SIZE, results.size());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            assertEquals("batch-" + i, results.get(i).jsCodeId());
+            assertEquals(JSCodeStatus.COMPLETED, results.get(i).statusCode());
+            assertEquals(List.of(String.valueOf(i * 2)), results.get(i).scriptResults());
+        }
+    }
+
+    @Test
+    void batchWithoutResultsReturnsPlannedStatusesAndIsExecutedInBackgroundTest() {
+        Mockito.when(jsCodeRepository.insert(ArgumentMatchers.<List<JSCode>>any())).thenAnswer(invocation -> {
+            List<JSCode> jsCodes = invocation.getArgument(0);
+            for (int i = 0; i < jsCodes.size(); i++) {
+                jsCodes.get(i).setJsCodeId("queued-" + i);
+            }
+            return jsCodes;
+        });
+        Mockito.when(jsCodeRepository.claimPlanned(Mockito.startsWith("queued-"), Mockito.anyString(), Mockito.any()))
+                .thenReturn(Optional.empty());
+        List<JSCodeBatchItem> items = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            items.add(new JSCodeBatchItem("while (true) {}", null, null));
+        }
+        List<JSCodeBatchResult> results = jsCodeManager.executeJSCodeBatch(items, false, "bulk", Optional.empty());
+        assertEquals(BATCH_SIZE, results.size());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            assertEquals("queued-" + i, results.get(i).jsCodeId());
+            assertEquals(JSCodeStatus.PLANNED, results.get(i).statusCode());
+            assertNull(results.get(i).scriptResults());
+        }
+        Mockito.verify(jsCodeRepository, Mockito.timeout(5000).times(BATCH_SIZE))
+                .claimPlanned(Mockito.startsWith("queued-"), Mockito.anyString(), Mockito.any());
+    }
+
+    @Test
+    void jsCodeStoppedBeforeClaimIsNotExecutedTest() {
+        Mockito.when(jsCodeRepository.insert(Mockito.any(JSCode.class))).thenAnswer(invocation -> {
+            JSCode jsCode = invocation.getArgument(0);
+            jsCode.setJsCodeId("stopped-job");
+            return jsCode;
+        });
+        // stop moved js code out of planned status, so it can not be claimed
+        Mockito.when(jsCodeRepository.claimPlanned(Mockito.eq("stopped-job"), Mockito.anyString(), Mockito.any()))
+                .thenReturn(Optional.empty());
+        List<String> scriptResults = jsCodeManager.executeJSCode("console.log(1)", null, true, new JSCodeLimits(),
+                "interactive", Optional.empty(), false, false, Optional.empty());
+        assertEquals(List.of(), scriptResults);
+        Mockito.verify(jsCodeOutputChunkRepository, Mockito.never()).insert(Mockito.any(JSCodeOutputChunk.class));
+    }
+
+    @Test
+    void stoppedPlannedJSCodeWakesWaitersTest() {
+        JSCode stoppedJSCode = new JSCode();
+        stoppedJSCode.setJsCodeId("planned-job");
+        stoppedJSCode.setStatusCode(JSCodeStatus.STOPPED);
+        Mockito.when(jsCodeRepository.stopPlanned("planned-job")).thenReturn(Optional.of(stoppedJSCode));
+        CompletableFuture<JSCode> waiter = jsCodeCompletionRegistry.register("planned-job");
+        jsCodeManager.stopJSCode("planned-job");
+        assertTrue(waiter.isDone());
+        assertEquals(JSCodeStatus.STOPPED, waiter.join().getStatusCode());
+    }
+
+    @Test
+    void tooLargeBatchIsRejectedTest() {
+        List<JSCodeBatchItem> items = new ArrayList<>();
+        for (int i = 0; i <= BATCH_SIZE; i++) {
+            items.add(new JSCodeBatchItem("console.log(1)", null, null));
+        }
+        assertThrows(IllegalArgumentException.class, () -> jsCodeManager.executeJSCodeBatch(items, false,
+                "bulk", Optional.empty()));
+    }
+}
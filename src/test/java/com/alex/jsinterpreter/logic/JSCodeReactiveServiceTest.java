@@ -0,0 +1,139 @@
+package com.alex.jsinterpreter.logic;
+
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodeLimits;
+import com.alex.jsinterpreter.document.JSCodeOutputChunk;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import com.alex.jsinterpreter.logic.service.JSCodeReactiveService;
+import com.alex.jsinterpreter.repository.JSCodeOutputChunkReactiveRepository;
+import com.alex.jsinterpreter.repository.JSCodeOutputChunkRepository;
+import com.alex.jsinterpreter.repository.JSCodeReactiveRepository;
+import com.alex.jsinterpreter.repository.JSCodeRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * class responsible for testing {@link JSCodeReactiveService} class methods
+ *
+ * @author Oleksandr Myronenko
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {"spring.data.mongodb.auto-index-creation=false",
+        "js-interpreter.completion.max-timeout=1s"})
+class JSCodeReactiveServiceTest {
+    @Autowired
+    private JSCodeReactiveService jsCodeReactiveService;
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private JSCodeRepository jsCodeRepository;
+    @MockBean
+    private JSCodeOutputChunkRepository jsCodeOutputChunkRepository;
+    @MockBean
+    private JSCodeReactiveRepository jsCodeReactiveRepository;
+    @MockBean
+    private JSCodeOutputChunkReactiveRepository jsCodeOutputChunkReactiveRepository;
+
+    @Test
+    void jsCodesAreStreamedAsNdjsonTest() throws Exception {
+        // stream without limit is bounded by default page size of listing
+        Mockito.when(jsCodeReactiveRepository.streamPage(null, "_id", null, 50))
+                .thenReturn(Flux.just(createJSCode("js-code-2"), createJSCode("js-code-1")));
+        MvcResult result = mockMvc.perform(get("/api/v2/js-codes").accept(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<String> lines = body.lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("js-code-2"));
+    }
+
+    @Test
+    void executedJSCodeIsReturnedWithOutputPreviewTest() {
+        Mockito.when(jsCodeRepository.insert(Mockito.any(JSCode.class))).thenAnswer(invocation -> {
+            JSCode jsCode = invocation.getArgument(0);
+            jsCode.setJsCodeId("reactive-job");
+            return jsCode;
+        });
+        Mockito.when(jsCodeRepository.claimPlanned(Mockito.eq("reactive-job"), Mockito.anyString(), Mockito.any()))
+                .thenAnswer(invocation -> {
+                    JSCode jsCode = new JSCode(JSCodeStatus.EXECUTING, "console.log(2 * 2)", null, Instant.now(), null);
+                    jsCode.setJsCodeId("reactive-job");
+                    return Optional.of(jsCode);
+                });
+        Mockito.when(jsCodeOutputChunkReactiveRepository
+                        .findByJsCodeIdAndFirstLineLessThanOrderByFirstLine(Mockito.eq("reactive-job"), Mockito.anyLong()))
+                .thenReturn(Flux.just(new JSCodeOutputChunk("reactive-job", 0, List.of("4"))));
+        StepVerifier.create(jsCodeReactiveService.executeJSCode("console.log(2 * 2)", new JSCodeLimits(),
+                "interactive", Optional.empty(), false))
+                .assertNext(jsCode -> {
+                    assertEquals(JSCodeStatus.COMPLETED, jsCode.getStatusCode());
+                    assertEquals(List.of("4"), jsCode.getScriptResults());
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void notFinishedJSCodeIsReadFromDatabaseAfterTimeoutTest() {
+        Mockito.when(jsCodeRepository.insert(Mockito.any(JSCode.class))).thenAnswer(invocation -> {
+            JSCode jsCode = invocation.getArgument(0);
+            jsCode.setJsCodeId("stuck-job");
+            return jsCode;
+        });
+        // js code is not claimed by this node, so its completion is never signalled here
+        Mockito.when(jsCodeRepository.claimPlanned(Mockito.eq("stuck-job"), Mockito.anyString(), Mockito.any()))
+                .thenReturn(Optional.empty());
+        JSCode plannedJSCode = createJSCode("stuck-job");
+        plannedJSCode.setStatusCode(JSCodeStatus.PLANNED);
+        Mockito.when(jsCodeReactiveRepository.findById("stuck-job")).thenReturn(Mono.just(plannedJSCode));
+        Mockito.when(jsCodeOutputChunkReactiveRepository
+                        .findByJsCodeIdAndFirstLineLessThanOrderByFirstLine(Mockito.eq("stuck-job"), Mockito.anyLong()))
+                .thenReturn(Flux.empty());
+        StepVerifier.create(jsCodeReactiveService.executeJSCode("console.log(1)", new JSCodeLimits(),
+                        "interactive", Optional.empty(), false))
+                .assertNext(jsCode -> assertEquals(JSCodeStatus.PLANNED, jsCode.getStatusCode()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void activeJSCodeIsNotDeletedTest() {
+        JSCode jsCode = createJSCode("active-job");
+        jsCode.setStatusCode(JSCodeStatus.EXECUTING);
+        Mockito.when(jsCodeReactiveRepository.findById("active-job")).thenReturn(Mono.just(jsCode));
+        Mockito.when(jsCodeOutputChunkReactiveRepository.deleteByJsCodeId("active-job")).thenReturn(Mono.just(0L));
+        StepVerifier.create(jsCodeReactiveService.deleteInactiveJSCode("active-job"))
+                .expectError(IllegalArgumentException.class)
+                .verify(Duration.ofSeconds(5));
+        Mockito.verify(jsCodeReactiveRepository, Mockito.never()).delete(Mockito.any(JSCode.class));
+    }
+
+    private JSCode createJSCode(String jsCodeId) {
+        JSCode jsCode = new JSCode(JSCodeStatus.COMPLETED, "console.log(1)", null, Instant.now(), 1L);
+        jsCode.setJsCodeId(jsCodeId);
+        return jsCode;
+    }
+}
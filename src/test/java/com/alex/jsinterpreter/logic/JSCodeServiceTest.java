@@ -3,19 +3,21 @@ package com.alex.jsinterpreter.logic;
 import com.alex.jsinterpreter.document.JSCode;
 import com.alex.jsinterpreter.document.JSCodeStatus;
 import com.alex.jsinterpreter.domain.dto.JSCodeCommonResponse;
+import com.alex.jsinterpreter.domain.dto.JSCodePage;
 import com.alex.jsinterpreter.logic.service.JSCodeService;
+import com.alex.jsinterpreter.repository.JSCodeOutputChunkRepository;
 import com.alex.jsinterpreter.repository.JSCodeRepository;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Sort;
 
 import java.time.Instant;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
@@ -23,12 +25,15 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
  *
  * @author Oleksandr Myronenko
  */
-@SpringBootTest
+@SpringBootTest(properties = "spring.data.mongodb.auto-index-creation=false")
 class JSCodeServiceTest {
+    private static final int DEFAULT_PAGE_SIZE = 50;
     @Autowired
     private JSCodeService jsCodeService;
     @MockBean
     private JSCodeRepository jsCodeRepository;
+    @MockBean
+    private JSCodeOutputChunkRepository jsCodeOutputChunkRepository;
     @Test
     void getByIdTest() {
         String jsCodeId = "649970f8429f5f1e8e8e7a40";
@@ -57,17 +62,22 @@ class JSCodeServiceTest {
 
     @Test
     void getListJSCodesTest() {
-        Mockito.when(jsCodeRepository.findAll()).thenReturn(getJSCodes());
+        Mockito.when(jsCodeRepository.findPage(null, "_id", null, DEFAULT_PAGE_SIZE + 1))
+                .thenReturn(getJSCodes());
         List<JSCodeCommonResponse> expectedResult = getJSCodeCommonResponses();
-        List<JSCodeCommonResponse> actualResult = jsCodeService.getListJSCodes(Optional.empty(), Optional.empty());
-        testEqualsJSCodeCommonResponseList(expectedResult, actualResult);
+        JSCodePage actualResult = jsCodeService.getListJSCodes(Optional.empty(), Optional.empty(), Optional.empty(),
+                Optional.empty());
+        assertEquals(expectedResult.size(), actualResult.jsCodes().size());
+        assertNull(actualResult.nextCursor());
+        testEqualsJSCodeCommonResponseList(expectedResult, actualResult.jsCodes());
 
     }
 
     @Test
     void getListJSCodesByStatus() {
         String jsCodeStatus = "Completed";
-        Mockito.when(jsCodeRepository.findByStatusCode(JSCodeStatus.valueOf(jsCodeStatus.toUpperCase())))
+        Mockito.when(jsCodeRepository.findPage(JSCodeStatus.valueOf(jsCodeStatus.toUpperCase()), "_id", null,
+                        DEFAULT_PAGE_SIZE + 1))
                 .thenReturn(getJSCodes()
                         .stream()
                         .filter(jsCode -> jsCode.getStatusCode()
@@ -78,14 +88,16 @@ class JSCodeServiceTest {
                 .filter(jsCodeCommonResponse -> jsCodeCommonResponse.getStatusCode()
                         .equals(JSCodeStatus.valueOf(jsCodeStatus.toUpperCase())))
                 .toList();
-        List<JSCodeCommonResponse> actualResult = jsCodeService.getListJSCodes(Optional.of(jsCodeStatus), Optional.empty());
+        List<JSCodeCommonResponse> actualResult = jsCodeService.getListJSCodes(Optional.of(jsCodeStatus),
+                Optional.empty(), Optional.empty(), Optional.empty()).jsCodes();
+        assertEquals(expectedResult.size(), actualResult.size());
         testEqualsJSCodeCommonResponseList(expectedResult, actualResult);
     }
 
     @Test
     void getListJSCodesSortedByScheduledTime() {
         String sortBy = "scheduledTime";
-        Mockito.when(jsCodeRepository.findAll(Sort.by(Sort.Direction.DESC, sortBy)))
+        Mockito.when(jsCodeRepository.findPage(null, sortBy, null, DEFAULT_PAGE_SIZE + 1))
                 .thenReturn(getJSCodes()
                         .stream().sorted(Comparator.comparing(JSCode::getScheduledTime).reversed())
                         .toList());
@@ -93,10 +105,30 @@ class JSCodeServiceTest {
                 .stream()
                 .sorted(Comparator.comparing(JSCodeCommonResponse::getScheduledTime).reversed())
                 .toList();
-        List<JSCodeCommonResponse> actualResult = jsCodeService.getListJSCodes(Optional.empty(), Optional.of(sortBy));
+        List<JSCodeCommonResponse> actualResult = jsCodeService.getListJSCodes(Optional.empty(), Optional.of(sortBy),
+                Optional.empty(), Optional.empty()).jsCodes();
+        assertEquals(expectedResult.size(), actualResult.size());
         testEqualsJSCodeCommonResponseList(expectedResult, actualResult);
     }
 
+    @Test
+    void getListJSCodesNextCursorTest() {
+        String sortBy = "scheduledTime";
+        int limit = 2;
+        List<JSCode> jsCodes = getJSCodes().stream()
+                .sorted(Comparator.comparing(JSCode::getScheduledTime).reversed())
+                .limit(limit + 1)
+                .toList();
+        jsCodes.forEach(jsCode -> jsCode.setJsCodeId("64970b45e79aca6c9ceb1ab" + jsCodes.indexOf(jsCode)));
+        Mockito.when(jsCodeRepository.findPage(null, sortBy, null, limit + 1)).thenReturn(jsCodes);
+        JSCodePage actualResult = jsCodeService.getListJSCodes(Optional.empty(), Optional.of(sortBy), Optional.empty(),
+                Optional.of(limit));
+        JSCode lastJSCode = jsCodes.get(limit - 1);
+        assertEquals(limit, actualResult.jsCodes().size());
+        assertEquals(lastJSCode.getScheduledTime().toEpochMilli() + "_" + lastJSCode.getJsCodeId(),
+                actualResult.nextCursor());
+    }
+
     @Test
     void deleteWrongInactiveJSCodeTest() {
         String jsCodeId = "64970745def9b62d84fa423f";
@@ -106,6 +138,34 @@ class JSCodeServiceTest {
         assertThrows(IllegalArgumentException.class, () -> jsCodeService.deleteInactiveJSCode(jsCodeId));
     }
 
+    @Test
+    void detailedTerminalJSCodeIsReadFromDatabaseOnceTest() {
+        String jsCodeId = "64970745def9b62d84fa4240";
+        JSCode completedJSCode = new JSCode(JSCodeStatus.COMPLETED, JSCodeScript.JS_CODE_RIGHT_SCRIPT,
+                JSCodeResult.SUCCESSFUL_RESULT, Instant.now(), 12L);
+        completedJSCode.setJsCodeId(jsCodeId);
+        Mockito.when(jsCodeRepository.findById(jsCodeId)).thenReturn(Optional.of(completedJSCode));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(JSCodeStatus.COMPLETED, jsCodeService.getDetailedJSCodeById(jsCodeId).getStatusCode());
+        }
+        Mockito.verify(jsCodeRepository, Mockito.times(1)).findById(jsCodeId);
+        jsCodeService.deleteInactiveJSCode(jsCodeId);
+        Mockito.when(jsCodeRepository.findById(jsCodeId)).thenReturn(Optional.empty());
+        assertThrows(NoSuchElementException.class, () -> jsCodeService.getDetailedJSCodeById(jsCodeId));
+    }
+
+    @Test
+    void detailedActiveJSCodeIsNotCachedTest() {
+        String jsCodeId = "64970745def9b62d84fa4241";
+        JSCode executingJSCode = new JSCode(JSCodeStatus.EXECUTING, JSCodeScript.JS_CODE_RIGHT_SCRIPT,
+                JSCodeResult.SUCCESSFUL_RESULT, Instant.now(), null);
+        executingJSCode.setJsCodeId(jsCodeId);
+        Mockito.when(jsCodeRepository.findById(jsCodeId)).thenReturn(Optional.of(executingJSCode));
+        jsCodeService.getDetailedJSCodeById(jsCodeId);
+        jsCodeService.getDetailedJSCodeById(jsCodeId);
+        Mockito.verify(jsCodeRepository, Mockito.times(2)).findById(jsCodeId);
+    }
+
     private List<JSCode> getJSCodes() {
         List<JSCode> jsCodes = new ArrayList<>();
         jsCodes.add(new JSCode(JSCodeStatus.FAILED, JSCodeScript.JS_NOT_DEFINED_ERROR_SCRIPT, JSCodeResult.NOT_DEFINED_RESULT,
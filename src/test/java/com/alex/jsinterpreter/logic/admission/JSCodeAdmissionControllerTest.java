@@ -0,0 +1,56 @@
+package com.alex.jsinterpreter.logic.admission;
+
+import com.alex.jsinterpreter.config.JSAdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * class responsible for testing {@link JSCodeAdmissionController} class methods
+ *
+ * @author Oleksandr Myronenko
+ */
+class JSCodeAdmissionControllerTest {
+    @Test
+    void executionOverLimitIsRejectedTest() {
+        JSCodeAdmissionController admissionController = createAdmissionController(false, 2, Duration.ofSeconds(1));
+        JSCodeAdmissionController.Permit permit = admissionController.acquire();
+        admissionController.acquire();
+        JSCodeRejectedException exception = assertThrows(JSCodeRejectedException.class,
+                admissionController::acquire);
+        assertEquals(Duration.ofSeconds(2), exception.getRetryAfter());
+        admissionController.release(permit);
+        assertNotNull(admissionController.acquire());
+        assertEquals(2, admissionController.getInFlight());
+    }
+
+    @Test
+    void adaptiveLimitIsDecreasedBySlowExecutionsTest() {
+        JSCodeAdmissionController admissionController = createAdmissionController(true, 10, Duration.ZERO);
+        for (int i = 0; i < 3; i++) {
+            admissionController.release(admissionController.acquire());
+        }
+        assertEquals(7, admissionController.getLimit());
+        assertEquals(0, admissionController.getInFlight());
+    }
+
+    @Test
+    void adaptiveLimitIsIncreasedByFastExecutionsTest() {
+        JSCodeAdmissionController admissionController = createAdmissionController(true, 10, Duration.ofHours(1));
+        JSCodeAdmissionController.Permit[] permits = new JSCodeAdmissionController.Permit[10];
+        for (int i = 0; i < permits.length; i++) {
+            permits[i] = admissionController.acquire();
+        }
+        admissionController.release(permits[0]);
+        assertEquals(11, admissionController.getLimit());
+    }
+
+    private JSCodeAdmissionController createAdmissionController(boolean adaptive, int limit,
+                                                                Duration targetLatency) {
+        return new JSCodeAdmissionController(new JSAdmissionProperties(100, limit, adaptive, 2, 100,
+                targetLatency, 0.9, Duration.ofSeconds(2)), new SimpleMeterRegistry());
+    }
+}
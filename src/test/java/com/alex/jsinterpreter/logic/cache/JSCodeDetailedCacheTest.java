@@ -0,0 +1,101 @@
+package com.alex.jsinterpreter.logic.cache;
+
+import com.alex.jsinterpreter.config.JSDetailedCacheProperties;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import com.alex.jsinterpreter.domain.dto.JSCodeDetailedResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * class responsible for testing {@link JSCodeDetailedCache} class methods
+ *
+ * @author Oleksandr Myronenko
+ */
+class JSCodeDetailedCacheTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void onlyTerminalJSCodesAreCachedTest() {
+        JSCodeDetailedCache cache = createCache(Duration.ofMinutes(1), 8, DataSize.ofMegabytes(1));
+        cache.put(createResponse("completed", JSCodeStatus.COMPLETED, 10), cache.getVersion());
+        cache.put(createResponse("executing", JSCodeStatus.EXECUTING, 10), cache.getVersion());
+        cache.put(createResponse("planned", JSCodeStatus.PLANNED, 10), cache.getVersion());
+        assertEquals("completed", cache.get("completed").orElseThrow().getJsCodeId());
+        assertTrue(cache.get("executing").isEmpty());
+        assertTrue(cache.get("planned").isEmpty());
+        assertEquals(1, cache.size());
+        assertEquals(1.0, meterRegistry.get("js.detailed.cache.hits").counter().count());
+        assertEquals(2.0, meterRegistry.get("js.detailed.cache.misses").counter().count());
+        cache.invalidate("completed");
+        assertTrue(cache.get("completed").isEmpty());
+        assertEquals(0L, cache.getWeight());
+    }
+
+    @Test
+    void cacheIsBoundedBySizeAndWeightTest() {
+        JSCodeDetailedCache sizeBoundedCache = createCache(Duration.ofMinutes(1), 2, DataSize.ofMegabytes(1));
+        sizeBoundedCache.put(createResponse("js-code-1", JSCodeStatus.COMPLETED, 1), sizeBoundedCache.getVersion());
+        sizeBoundedCache.put(createResponse("js-code-2", JSCodeStatus.FAILED, 1), sizeBoundedCache.getVersion());
+        sizeBoundedCache.get("js-code-1");
+        sizeBoundedCache.put(createResponse("js-code-3", JSCodeStatus.STOPPED, 1), sizeBoundedCache.getVersion());
+        assertTrue(sizeBoundedCache.get("js-code-1").isPresent());
+        assertTrue(sizeBoundedCache.get("js-code-2").isEmpty());
+        assertTrue(sizeBoundedCache.get("js-code-3").isPresent());
+
+        JSCodeDetailedCache weightBoundedCache = createCache(Duration.ofMinutes(1), 100, DataSize.ofKilobytes(64));
+        for (int i = 0; i < 10; i++) {
+            // every js code has 10 lines of 1000 characters, so about 20 KB
+            weightBoundedCache.put(createResponse("js-code-" + i, JSCodeStatus.COMPLETED, 10),
+                    weightBoundedCache.getVersion());
+        }
+        assertTrue(weightBoundedCache.getWeight() <= DataSize.ofKilobytes(64).toBytes());
+        assertEquals(3, weightBoundedCache.size());
+        assertTrue(weightBoundedCache.get("js-code-9").isPresent());
+        assertTrue(weightBoundedCache.get("js-code-0").isEmpty());
+    }
+
+    @Test
+    void jsCodeDeletedDuringReadIsNotCachedTest() {
+        JSCodeDetailedCache cache = createCache(Duration.ofMinutes(1), 1, DataSize.ofMegabytes(1));
+        long readVersion = cache.getVersion();
+        cache.invalidate("js-code-1");
+        cache.put(createResponse("js-code-1", JSCodeStatus.COMPLETED, 1), readVersion);
+        assertTrue(cache.get("js-code-1").isEmpty());
+        cache.put(createResponse("js-code-1", JSCodeStatus.COMPLETED, 1), cache.getVersion());
+        assertTrue(cache.get("js-code-1").isPresent());
+        // tombstone of js code 2 evicts tombstone of js code 1, read which started before it is still skipped
+        long staleReadVersion = cache.getVersion();
+        cache.invalidate("js-code-1");
+        cache.invalidate("js-code-2");
+        cache.put(createResponse("js-code-1", JSCodeStatus.COMPLETED, 1), staleReadVersion);
+        assertTrue(cache.get("js-code-1").isEmpty());
+    }
+
+    @Test
+    void expiredJSCodeIsNotReturnedTest() throws InterruptedException {
+        JSCodeDetailedCache cache = createCache(Duration.ofMillis(10), 8, DataSize.ofMegabytes(1));
+        cache.put(createResponse("js-code-1", JSCodeStatus.COMPLETED, 1), cache.getVersion());
+        Thread.sleep(20);
+        assertTrue(cache.get("js-code-1").isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    private JSCodeDetailedCache createCache(Duration ttl, int maxSize, DataSize maxWeight) {
+        return new JSCodeDetailedCache(new JSDetailedCacheProperties(true, ttl, maxSize, maxWeight), meterRegistry);
+    }
+
+    private JSCodeDetailedResponse createResponse(String jsCodeId, JSCodeStatus status, int lines) {
+        JSCodeDetailedResponse response = new JSCodeDetailedResponse();
+        response.setJsCodeId(jsCodeId);
+        response.setStatusCode(status);
+        response.setScriptBody("console.log(1)");
+        response.setScriptResults(Collections.nCopies(lines, "x".repeat(1000)));
+        return response;
+    }
+}
@@ -0,0 +1,97 @@
+package com.alex.jsinterpreter.logic.cache;
+
+import com.alex.jsinterpreter.config.JSMemoizationProperties;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import com.alex.jsinterpreter.domain.dto.JSCodeDetailedResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * class responsible for testing {@link JSCodeResultCache} class methods
+ *
+ * @author Oleksandr Myronenko
+ */
+class JSCodeResultCacheTest {
+    private static final String SCRIPT = "console.log(1)";
+
+    @Test
+    void memoizedResultIsReturnedByScriptAndIdempotencyKeyTest() {
+        JSCodeResultCache cache = createCache(true, Duration.ofMinutes(1), 8);
+        cache.put(Optional.empty(), createResponse("js-code-1", SCRIPT));
+        cache.put(Optional.of("key"), createResponse("js-code-2", SCRIPT));
+        assertEquals("js-code-1", cache.get(SCRIPT, Optional.empty()).orElseThrow().getJsCodeId());
+        assertEquals("js-code-2", cache.get(SCRIPT, Optional.of("key")).orElseThrow().getJsCodeId());
+        assertTrue(cache.get(SCRIPT, Optional.of("other-key")).isEmpty());
+        assertTrue(cache.get("console.log(2)", Optional.empty()).isEmpty());
+        cache.invalidate("js-code-1");
+        assertTrue(cache.get(SCRIPT, Optional.empty()).isEmpty());
+    }
+
+    @Test
+    void expiredAndEvictedResultsAreNotReturnedTest() throws InterruptedException {
+        JSCodeResultCache expiringCache = createCache(true, Duration.ofMillis(10), 8);
+        expiringCache.put(Optional.empty(), createResponse("js-code-1", SCRIPT));
+        Thread.sleep(20);
+        assertTrue(expiringCache.get(SCRIPT, Optional.empty()).isEmpty());
+        assertEquals(0, expiringCache.size());
+        JSCodeResultCache boundedCache = createCache(true, Duration.ofMinutes(1), 2);
+        for (int i = 0; i < 3; i++) {
+            boundedCache.put(Optional.empty(), createResponse("js-code-" + i, "console.log(" + i + ")"));
+        }
+        assertEquals(2, boundedCache.size());
+        assertTrue(boundedCache.get("console.log(0)", Optional.empty()).isEmpty());
+    }
+
+    @Test
+    void resultsAreBoundedByWeightOfOutputTest() {
+        JSCodeResultCache cache = createCache(true, Duration.ofMinutes(1), 1024, DataSize.ofKilobytes(64));
+        for (int i = 0; i < 8; i++) {
+            JSCodeDetailedResponse response = createResponse("js-code-" + i, "console.log(" + i + ")");
+            response.setScriptResults(List.of("x".repeat(10_000)));
+            cache.put(Optional.empty(), response);
+        }
+        // every result holds about 20 KB of output, so only three of them fit
+        assertEquals(3, cache.size());
+        assertTrue(cache.getWeight() <= DataSize.ofKilobytes(64).toBytes());
+        assertTrue(cache.get("console.log(0)", Optional.empty()).isEmpty());
+        assertTrue(cache.get("console.log(7)", Optional.empty()).isPresent());
+        JSCodeDetailedResponse hugeResponse = createResponse("js-code-huge", SCRIPT);
+        hugeResponse.setScriptResults(List.of("x".repeat(100_000)));
+        cache.put(Optional.empty(), hugeResponse);
+        assertTrue(cache.get(SCRIPT, Optional.empty()).isEmpty());
+        cache.invalidate("js-code-7");
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void disabledCacheDoesNotMemoizeTest() {
+        JSCodeResultCache cache = createCache(false, Duration.ofMinutes(1), 8);
+        cache.put(Optional.empty(), createResponse("js-code-1", SCRIPT));
+        assertTrue(cache.get(SCRIPT, Optional.empty()).isEmpty());
+    }
+
+    private JSCodeResultCache createCache(boolean enabled, Duration ttl, int maxSize) {
+        return createCache(enabled, ttl, maxSize, DataSize.ofMegabytes(64));
+    }
+
+    private JSCodeResultCache createCache(boolean enabled, Duration ttl, int maxSize, DataSize maxWeight) {
+        return new JSCodeResultCache(new JSMemoizationProperties(enabled, ttl, maxSize, maxWeight),
+                new SimpleMeterRegistry());
+    }
+
+    private JSCodeDetailedResponse createResponse(String jsCodeId, String scriptBody) {
+        JSCodeDetailedResponse response = new JSCodeDetailedResponse();
+        response.setJsCodeId(jsCodeId);
+        response.setStatusCode(JSCodeStatus.COMPLETED);
+        response.setScriptBody(scriptBody);
+        response.setScriptResults(List.of("1"));
+        return response;
+    }
+}
@@ -0,0 +1,185 @@
+package com.alex.jsinterpreter.logic.collector;
+
+import com.alex.jsinterpreter.logic.JSMember;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * class responsible for testing {@link JSCodeCollectionCollector} class methods
+ *
+ * @author Oleksandr Myronenko
+ */
+class JSCodeCollectionCollectorTest {
+    private static final long MAX_BYTES_PER_LINE = 512;
+    private final Context context = Context.newBuilder(JSMember.JS.getValue())
+            .option("engine.WarnInterpreterOnly", "false")
+            .build();
+    private final List<String> storedLines = new ArrayList<>();
+    private final JSCodeOutputStore outputStore = new JSCodeOutputStore() {
+        @Override
+        public void appendChunk(String jsCodeId, long firstLine, List<String> lines) {
+            storedLines.addAll(lines);
+        }
+
+        @Override
+        public void forEachLine(String jsCodeId, Consumer<String> lineConsumer) {
+            storedLines.forEach(lineConsumer);
+        }
+    };
+
+    @AfterEach
+    void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void valuesAreConvertedAsHostObjectsTest() {
+        JSCodeOutputSink outputSink = new JSCodeOutputSink("js-code", outputStore, 1000, 262144, "Infinity"::equals);
+        String[] expressions = {"'line'", "1", "-1.5", "2 ** 53", "1 / 0", "-0", "NaN", "true", "null", "undefined",
+                "({a: 1})", "[1, 2]"};
+        List<String> expectedLines = new ArrayList<>();
+        JSCodeCollectionCollector collector = new JSCodeCollectionCollector(outputSink);
+        for (String expression : expressions) {
+            Value value = context.eval(JSMember.JS.getValue(), expression);
+            expectedLines.add(String.valueOf(value.as(Object.class)));
+            collector.execute(value);
+        }
+        outputSink.complete();
+        assertEquals(expectedLines, storedLines);
+        assertTrue(outputSink.isFailureLineProduced());
+    }
+
+    @Test
+    void largeIntegersArePrintedWithoutExponentTest() {
+        JSCodeOutputSink outputSink = new JSCodeOutputSink("js-code", outputStore, 1000, 262144, "Infinity"::equals);
+        JSCodeCollectionCollector collector = new JSCodeCollectionCollector(outputSink);
+        collector.execute(context.eval(JSMember.JS.getValue(), "2 ** 40"));
+        collector.execute(context.eval(JSMember.JS.getValue(), "-(2 ** 40)"));
+        collector.execute(context.eval(JSMember.JS.getValue(), "1792282493947"));
+        outputSink.complete();
+        assertEquals(List.of("1099511627776", "-1099511627776", "1792282493947"), storedLines);
+    }
+
+    @Test
+    void outputAboveCapIsTruncatedTest() {
+        JSCodeOutputSink linesCappedSink = new JSCodeOutputSink("js-code", outputStore, 1000, 262144, 3, 0,
+                "Infinity"::equals);
+        JSCodeCollectionCollector collector = new JSCodeCollectionCollector(linesCappedSink);
+        for (int i = 0; i < 5; i++) {
+            collector.execute(context.asValue(i));
+        }
+        linesCappedSink.appendUncapped("reason");
+        linesCappedSink.complete();
+        assertTrue(linesCappedSink.isTruncated());
+        assertEquals(List.of("0", "1", "2", "... output truncated after 3 lines", "reason"), storedLines);
+        storedLines.clear();
+        JSCodeOutputSink bytesCappedSink = new JSCodeOutputSink("js-code", outputStore, 1000, 262144, 0, 8,
+                "Infinity"::equals);
+        new JSCodeCollectionCollector(bytesCappedSink).execute(context.asValue("12345"), context.asValue("67890"));
+        bytesCappedSink.complete();
+        assertEquals(List.of("12345", "678", "... output truncated after 8 bytes"), storedLines);
+        storedLines.clear();
+        // two-byte letters are counted in UTF-8 bytes, not in characters
+        JSCodeOutputSink utf8CappedSink = new JSCodeOutputSink("js-code", outputStore, 1000, 262144, 0, 7,
+                "Infinity"::equals);
+        new JSCodeCollectionCollector(utf8CappedSink).execute(context.asValue("\u0444\u0444\u0444\u0444\u0444"));
+        utf8CappedSink.complete();
+        assertEquals(List.of("\u0444\u0444\u0444", "... output truncated after 7 bytes"), storedLines);
+    }
+
+    @Test
+    void chunksDoNotExceedChunkBytesTest() {
+        List<List<String>> chunks = new ArrayList<>();
+        JSCodeOutputStore chunkStore = new JSCodeOutputStore() {
+            @Override
+            public void appendChunk(String jsCodeId, long firstLine, List<String> lines) {
+                chunks.add(List.copyOf(lines));
+            }
+
+            @Override
+            public void forEachLine(String jsCodeId, Consumer<String> lineConsumer) {
+                chunks.forEach(chunk -> chunk.forEach(lineConsumer));
+            }
+        };
+        int chunkBytes = 64;
+        JSCodeOutputSink outputSink = new JSCodeOutputSink("js-code", chunkStore, 1000, chunkBytes, 0, 0,
+                "Infinity"::equals);
+        JSCodeCollectionCollector collector = new JSCodeCollectionCollector(outputSink);
+        collector.execute(context.asValue("x".repeat(40)));
+        collector.execute(context.asValue("\uD83D\uDE00".repeat(100)));
+        collector.execute(context.asValue("y".repeat(40)));
+        outputSink.complete();
+        assertEquals(3, chunks.size());
+        for (List<String> chunk : chunks) {
+            int bytes = chunk.stream().mapToInt(line -> line.getBytes(StandardCharsets.UTF_8).length).sum();
+            assertTrue(bytes <= chunkBytes, "chunk bytes -> " + bytes);
+        }
+        String truncatedLine = chunks.get(1).get(0);
+        assertTrue(truncatedLine.endsWith(" ... line truncated"));
+        // surrogate pair is not split by truncation
+        assertFalse(Character.isHighSurrogate(truncatedLine.charAt(truncatedLine.indexOf(' ') - 1)));
+    }
+
+    @Test
+    void subscriberGetsOnlyLinesWhichAreNotStoredTest() {
+        JSCodeOutputSink outputSink = new JSCodeOutputSink("js-code", outputStore, 2, 262144, "Infinity"::equals);
+        JSCodeCollectionCollector collector = new JSCodeCollectionCollector(outputSink);
+        for (int i = 0; i < 3; i++) {
+            collector.execute(context.asValue(i));
+        }
+        List<String> receivedLines = new ArrayList<>();
+        List<Boolean> completions = new ArrayList<>();
+        // stored lines are read by subscriber itself, so store is not read under lock of output
+        long storedLines = outputSink.subscribe(new JSCodeOutputListener() {
+            @Override
+            public void onLine(String line) {
+                receivedLines.add(line);
+            }
+
+            @Override
+            public void onComplete() {
+                completions.add(true);
+            }
+        });
+        collector.execute(context.asValue(3));
+        outputSink.complete();
+        assertEquals(2L, storedLines);
+        assertEquals(List.of("2", "3"), receivedLines);
+        assertEquals(List.of(true), completions);
+    }
+
+    @Test
+    void capturingPrimitivesDoesNotAllocateMuchTest() {
+        int lines = 100_000;
+        JSCodeOutputSink outputSink = new JSCodeOutputSink("js-code", outputStore, lines, Integer.MAX_VALUE,
+                "Infinity"::equals);
+        JSCodeCollectionCollector collector = new JSCodeCollectionCollector(outputSink);
+        Value number = context.asValue(1_000_000);
+        Value string = context.eval(JSMember.JS.getValue(), "'x'.repeat(16)");
+        // warm up conversion before measuring
+        for (int i = 0; i < 1000; i++) {
+            collector.execute(number);
+        }
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long start = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < lines / 2; i++) {
+            collector.execute(number);
+            collector.execute(string);
+        }
+        long bytesPerLine = (threadMXBean.getThreadAllocatedBytes(threadId) - start) / lines;
+        // only line itself is allocated, argument is not converted to host object
+        assertTrue(bytesPerLine < MAX_BYTES_PER_LINE, "allocated bytes per line -> " + bytesPerLine);
+    }
+}
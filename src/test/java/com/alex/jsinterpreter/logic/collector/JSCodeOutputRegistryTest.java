@@ -0,0 +1,44 @@
+package com.alex.jsinterpreter.logic.collector;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * class responsible for testing {@link JSCodeOutputRegistry} class methods
+ *
+ * @author Oleksandr Myronenko
+ */
+class JSCodeOutputRegistryTest {
+    private final JSCodeOutputRegistry jsCodeOutputRegistry = new JSCodeOutputRegistry();
+
+    @Test
+    void waiterIsCompletedByStartedExecutionTest() {
+        CompletableFuture<JSCodeOutputSink> waiter = jsCodeOutputRegistry.awaitStart("1");
+        assertFalse(waiter.isDone());
+        JSCodeOutputSink outputSink = createOutputSink("1");
+        jsCodeOutputRegistry.register("1", outputSink);
+        assertTrue(waiter.isDone());
+        assertSame(outputSink, waiter.join());
+        assertEquals(0, jsCodeOutputRegistry.getWaitersCount());
+    }
+
+    @Test
+    void executingJSCodeIsReturnedAtOnceTest() {
+        JSCodeOutputSink outputSink = createOutputSink("1");
+        jsCodeOutputRegistry.register("1", outputSink);
+        assertSame(outputSink, jsCodeOutputRegistry.awaitStart("1").join());
+        jsCodeOutputRegistry.unregister("1");
+        CompletableFuture<JSCodeOutputSink> waiter = jsCodeOutputRegistry.awaitStart("1");
+        assertFalse(waiter.isDone());
+        jsCodeOutputRegistry.unregisterWaiter("1", waiter);
+        assertEquals(0, jsCodeOutputRegistry.getWaitersCount());
+    }
+
+    private JSCodeOutputSink createOutputSink(String jsCodeId) {
+        return new JSCodeOutputSink(jsCodeId, Mockito.mock(JSCodeOutputStore.class), 1000, 262144, line -> false);
+    }
+}
@@ -0,0 +1,49 @@
+package com.alex.jsinterpreter.logic.completion;
+
+import com.alex.jsinterpreter.config.JSCompletionProperties;
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * class responsible for testing {@link JSCodeCompletionRegistry} class methods
+ *
+ * @author Oleksandr Myronenko
+ */
+class JSCodeCompletionRegistryTest {
+    private final JSCodeCompletionRegistry jsCodeCompletionRegistry = new JSCodeCompletionRegistry(
+            new JSCompletionProperties(Duration.ofSeconds(30), Duration.ofSeconds(60), 1));
+
+    @Test
+    void waiterIsCompletedByFinishedJSCodeTest() {
+        CompletableFuture<JSCode> waiter = jsCodeCompletionRegistry.register("1");
+        assertFalse(waiter.isDone());
+        jsCodeCompletionRegistry.complete(getCompletedJSCode("1"));
+        assertTrue(waiter.isDone());
+        assertEquals(JSCodeStatus.COMPLETED, waiter.join().getStatusCode());
+        assertEquals(0, jsCodeCompletionRegistry.getWaitersCount());
+    }
+
+    @Test
+    void recentlyFinishedJSCodeIsReturnedAtOnceTest() {
+        jsCodeCompletionRegistry.complete(getCompletedJSCode("1"));
+        assertTrue(jsCodeCompletionRegistry.register("1").isDone());
+        jsCodeCompletionRegistry.complete(getCompletedJSCode("2"));
+        CompletableFuture<JSCode> evictedWaiter = jsCodeCompletionRegistry.register("1");
+        assertFalse(evictedWaiter.isDone());
+        jsCodeCompletionRegistry.unregister("1", evictedWaiter);
+        assertEquals(0, jsCodeCompletionRegistry.getWaitersCount());
+    }
+
+    private JSCode getCompletedJSCode(String jsCodeId) {
+        JSCode jsCode = new JSCode(JSCodeStatus.COMPLETED, "console.log(1)", null, Instant.now(), 1L);
+        jsCode.setJsCodeId(jsCodeId);
+        return jsCode;
+    }
+}
@@ -0,0 +1,59 @@
+package com.alex.jsinterpreter.logic.job;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * class responsible for testing {@link HashedTimingWheel} class methods
+ *
+ * @author Oleksandr Myronenko
+ */
+class HashedTimingWheelTest {
+    private final HashedTimingWheel timingWheel = new HashedTimingWheel("test-timing-wheel", Duration.ofMillis(5), 8);
+
+    @AfterEach
+    void stopTimingWheel() {
+        timingWheel.stop();
+    }
+
+    @Test
+    void tasksAreFiredNotEarlierThanDeadlineTest() throws InterruptedException {
+        int tasksCount = 20;
+        CountDownLatch firedLatch = new CountDownLatch(tasksCount);
+        Map<String, Instant> deadlines = new ConcurrentHashMap<>();
+        Map<String, Instant> firedTimes = new ConcurrentHashMap<>();
+        Instant now = Instant.now();
+        for (int i = 0; i < tasksCount; i++) {
+            String key = "task-" + i;
+            // deadlines cover several rounds of wheel and one already passed deadline
+            Instant deadline = now.plusMillis(i * 13L - 10);
+            deadlines.put(key, deadline);
+            timingWheel.schedule(key, deadline, () -> {
+                firedTimes.put(key, Instant.now());
+                firedLatch.countDown();
+            });
+        }
+        assertTrue(firedLatch.await(5, TimeUnit.SECONDS));
+        deadlines.forEach((key, deadline) -> assertFalse(firedTimes.get(key).isBefore(deadline)));
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    void cancelledTaskIsNotFiredTest() throws InterruptedException {
+        CountDownLatch firedLatch = new CountDownLatch(1);
+        timingWheel.schedule("cancelled", Instant.now().plusMillis(50), firedLatch::countDown);
+        assertTrue(timingWheel.contains("cancelled"));
+        assertTrue(timingWheel.cancel("cancelled"));
+        assertFalse(timingWheel.contains("cancelled"));
+        assertFalse(firedLatch.await(200, TimeUnit.MILLISECONDS));
+    }
+}
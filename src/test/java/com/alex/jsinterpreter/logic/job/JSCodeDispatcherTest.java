@@ -0,0 +1,109 @@
+package com.alex.jsinterpreter.logic.job;
+
+import com.alex.jsinterpreter.config.JSExecutorProperties;
+import com.alex.jsinterpreter.config.JSPriorityProperties;
+import com.alex.jsinterpreter.document.JSCodePriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * class responsible for testing {@link JSCodeDispatcher} class methods
+ *
+ * @author Oleksandr Myronenko
+ */
+class JSCodeDispatcherTest {
+    private static final int QUEUE_CAPACITY = 1000;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JSCodeDispatcher dispatcher = new JSCodeDispatcher(new JSExecutionEngine("test-executor",
+            new JSExecutorProperties(JSExecutorProperties.Type.FIXED, 1, 0)),
+            new JSPriorityProperties(32, 4, 1), QUEUE_CAPACITY, meterRegistry);
+    private final CountDownLatch releaseLatch = new CountDownLatch(1);
+
+    @AfterEach
+    void stopDispatcher() throws InterruptedException {
+        releaseLatch.countDown();
+        dispatcher.shutdown(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void interactiveTaskOvertakesBulkBacklogTest() throws InterruptedException {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        blockExecutionPool();
+        for (int i = 0; i < 500; i++) {
+            String name = "bulk-" + i;
+            dispatcher.dispatch(() -> executed.add(name), JSCodePriority.BULK, "batch-client");
+        }
+        CountDownLatch interactiveLatch = new CountDownLatch(1);
+        dispatcher.dispatch(() -> {
+            executed.add("interactive");
+            interactiveLatch.countDown();
+        }, JSCodePriority.INTERACTIVE, "interactive-client");
+        assertEquals(500, dispatcher.getQueueSize(JSCodePriority.BULK));
+        assertEquals(1, dispatcher.getQueueSize(JSCodePriority.INTERACTIVE));
+        releaseLatch.countDown();
+        assertTrue(interactiveLatch.await(10, TimeUnit.SECONDS));
+        assertTrue(executed.indexOf("interactive") <= 1);
+        assertEquals(1L, meterRegistry.get("js.dispatcher.queue.wait").tag("priority", "interactive").timer()
+                .count());
+    }
+
+    @Test
+    void tenantsOfOneClassShareExecutionPoolTest() throws InterruptedException {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch executedLatch = new CountDownLatch(110);
+        blockExecutionPool();
+        for (int i = 0; i < 100; i++) {
+            dispatcher.dispatch(() -> {
+                executed.add("first");
+                executedLatch.countDown();
+            }, JSCodePriority.NORMAL, "first-tenant");
+        }
+        for (int i = 0; i < 10; i++) {
+            dispatcher.dispatch(() -> {
+                executed.add("second");
+                executedLatch.countDown();
+            }, JSCodePriority.NORMAL, "second-tenant");
+        }
+        releaseLatch.countDown();
+        assertTrue(executedLatch.await(10, TimeUnit.SECONDS));
+        // tasks of tenants alternate, so late tenant is not queued behind backlog of early one
+        assertEquals(10, executed.subList(0, 20).stream().filter("second"::equals).count());
+    }
+
+    @Test
+    void tasksAboveQueueCapacityAreRejectedTest() {
+        blockExecutionPool();
+        for (int i = 0; i < QUEUE_CAPACITY; i++) {
+            dispatcher.dispatch(() -> {
+            }, JSCodePriority.BULK, null);
+        }
+        assertThrows(RejectedExecutionException.class, () -> dispatcher.dispatch(() -> {
+        }, JSCodePriority.INTERACTIVE, null));
+    }
+
+    private void blockExecutionPool() {
+        CountDownLatch startedLatch = new CountDownLatch(1);
+        dispatcher.dispatch(() -> {
+            startedLatch.countDown();
+            try {
+                releaseLatch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, JSCodePriority.NORMAL, null);
+        try {
+            assertTrue(startedLatch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.alex.jsinterpreter.logic.job;
+
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import com.alex.jsinterpreter.logic.JSMember;
+import org.graalvm.polyglot.Context;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * class responsible for testing {@link JSCodeExecution} class methods
+ *
+ * @author Oleksandr Myronenko
+ */
+class JSCodeExecutionTest {
+    private final Context context = Context.newBuilder(JSMember.JS.getValue())
+            .option("engine.WarnInterpreterOnly", "false")
+            .build();
+    private final JSCodeExecution execution = new JSCodeExecution("execution-job", context, Thread.currentThread(),
+            0L, 0L, 0L);
+
+    @AfterEach
+    void closeContext() {
+        context.close(true);
+    }
+
+    @Test
+    void cancellationAfterFinishIsIgnoredTest() {
+        context.eval(JSMember.JS.getValue(), "1 + 1");
+        assertNull(execution.finish());
+        assertFalse(execution.cancel(JSCodeStatus.STOPPED, null));
+        assertNull(execution.getCancellation());
+        assertEquals(2, context.eval(JSMember.JS.getValue(), "1 + 1").asInt());
+    }
+
+    @Test
+    void finishAfterCancellationReportsCancellationTest() {
+        assertTrue(execution.cancel(JSCodeStatus.STOPPED, null));
+        assertFalse(execution.cancel(JSCodeStatus.TIMED_OUT, "timeout"));
+        JSCodeExecution.Cancellation cancellation = execution.finish();
+        assertNotNull(cancellation);
+        assertEquals(JSCodeStatus.STOPPED, cancellation.jsCodeStatus());
+    }
+}
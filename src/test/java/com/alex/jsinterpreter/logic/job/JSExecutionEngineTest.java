@@ -0,0 +1,117 @@
+package com.alex.jsinterpreter.logic.job;
+
+import com.alex.jsinterpreter.config.JSExecutorProperties;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * class responsible for testing {@link JSExecutionEngine} class methods
+ *
+ * @author Oleksandr Myronenko
+ */
+class JSExecutionEngineTest {
+    private static final int PARALLELISM = 2;
+    private static final int QUEUE_DEPTH = 2;
+
+    @ParameterizedTest
+    @EnumSource(JSExecutorProperties.Type.class)
+    void tasksAreExecutedOnNamedThreadsTest(JSExecutorProperties.Type type) throws InterruptedException {
+        JSExecutionEngine engine = new JSExecutionEngine("test-executor",
+                new JSExecutorProperties(type, PARALLELISM, QUEUE_DEPTH));
+        int tasksCount = 100;
+        CountDownLatch executedLatch = new CountDownLatch(tasksCount);
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        try {
+            for (int i = 0; i < tasksCount; i++) {
+                submitWithRetry(engine, () -> {
+                    threadNames.add(Thread.currentThread().getName());
+                    executedLatch.countDown();
+                });
+            }
+            assertTrue(executedLatch.await(10, TimeUnit.SECONDS));
+        } finally {
+            assertTrue(engine.shutdown(10, TimeUnit.SECONDS));
+        }
+        assertEquals(PARALLELISM, engine.getParallelism());
+        assertFalse(threadNames.isEmpty());
+        assertTrue(threadNames.stream().allMatch(name -> name.startsWith("test-executor-")));
+    }
+
+    @ParameterizedTest
+    @EnumSource(JSExecutorProperties.Type.class)
+    void tasksAboveQueueCapacityAreRejectedTest(JSExecutorProperties.Type type) throws InterruptedException {
+        JSExecutionEngine engine = new JSExecutionEngine("test-executor",
+                new JSExecutorProperties(type, PARALLELISM, QUEUE_DEPTH));
+        CountDownLatch startedLatch = new CountDownLatch(PARALLELISM);
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < PARALLELISM; i++) {
+                engine.execute(() -> {
+                    startedLatch.countDown();
+                    awaitQuietly(releaseLatch);
+                });
+            }
+            assertTrue(startedLatch.await(10, TimeUnit.SECONDS));
+            assertEquals(PARALLELISM, engine.getActiveCount());
+            for (int i = 0; i < engine.getCapacity(); i++) {
+                engine.execute(() -> {
+                });
+            }
+            assertEquals(PARALLELISM + QUEUE_DEPTH, engine.getQueueSize());
+            assertThrows(RejectedExecutionException.class, () -> engine.execute(() -> {
+            }));
+        } finally {
+            releaseLatch.countDown();
+            assertTrue(engine.shutdown(10, TimeUnit.SECONDS));
+        }
+        assertEquals(0, engine.getQueueSize());
+        assertEquals(0, engine.getActiveCount());
+    }
+
+    @ParameterizedTest
+    @EnumSource(JSExecutorProperties.Type.class)
+    void queuedTasksAreTakenByFreeThreadTest(JSExecutorProperties.Type type) throws InterruptedException {
+        JSExecutionEngine engine = new JSExecutionEngine("test-executor",
+                new JSExecutorProperties(type, PARALLELISM, QUEUE_DEPTH));
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        CountDownLatch executedLatch = new CountDownLatch(engine.getCapacity() - 1);
+        try {
+            // one thread is busy with long task, queued tasks are executed by the other one
+            engine.execute(() -> awaitQuietly(releaseLatch));
+            for (int i = 1; i < engine.getCapacity(); i++) {
+                engine.execute(executedLatch::countDown);
+            }
+            assertTrue(executedLatch.await(10, TimeUnit.SECONDS));
+        } finally {
+            releaseLatch.countDown();
+            assertTrue(engine.shutdown(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private void submitWithRetry(JSExecutionEngine engine, Runnable task) throws InterruptedException {
+        while (true) {
+            try {
+                engine.execute(task);
+                return;
+            } catch (RejectedExecutionException e) {
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.alex.jsinterpreter.logic.persistence;
+
+import com.alex.jsinterpreter.config.JSWriteBehindProperties;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import com.alex.jsinterpreter.repository.JSCodeRepository;
+import com.alex.jsinterpreter.repository.JSCodeStateChange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * class responsible for testing {@link JSCodeWriteBehindQueue} class methods
+ *
+ * @author Oleksandr Myronenko
+ */
+class JSCodeWriteBehindQueueTest {
+    @Test
+    void allChangesAreFlushedOnShutdownTest() throws InterruptedException {
+        JSCodeRepository jsCodeRepository = Mockito.mock(JSCodeRepository.class);
+        Map<String, JSCodeStateChange> persistedChanges = Collections.synchronizedMap(new HashMap<>());
+        Mockito.doAnswer(invocation -> {
+            List<JSCodeStateChange> stateChanges = invocation.getArgument(0);
+            stateChanges.forEach(change -> persistedChanges.merge(change.jsCodeId(), change, JSCodeStateChange::merge));
+            return null;
+        }).when(jsCodeRepository).applyStateChanges(Mockito.anyList());
+        JSCodeWriteBehindQueue writeBehindQueue = new JSCodeWriteBehindQueue(jsCodeRepository,
+                new JSWriteBehindProperties(16, 8, Duration.ofMillis(10), Duration.ofSeconds(1)),
+                new SimpleMeterRegistry());
+        int jsCodesCount = 100;
+        for (int i = 0; i < jsCodesCount; i++) {
+            writeBehindQueue.enqueue(JSCodeStateChange.ofStatus("js-code-" + i, JSCodeStatus.EXECUTING));
+            writeBehindQueue.enqueue(new JSCodeStateChange("js-code-" + i, JSCodeStatus.COMPLETED,
+                    (long) i, (long) i));
+        }
+        writeBehindQueue.shutdown();
+        assertEquals(jsCodesCount, persistedChanges.size());
+        for (int i = 0; i < jsCodesCount; i++) {
+            JSCodeStateChange stateChange = persistedChanges.get("js-code-" + i);
+            assertEquals(JSCodeStatus.COMPLETED, stateChange.statusCode());
+            assertEquals(i, stateChange.outputLineCount());
+            assertEquals(i, stateChange.executionTime());
+        }
+    }
+
+    @Test
+    void mergedChangeKeepsStatusWhichItStartsFromTest() throws InterruptedException {
+        JSCodeRepository jsCodeRepository = Mockito.mock(JSCodeRepository.class);
+        List<JSCodeStateChange> flushedChanges = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch flushStartedLatch = new CountDownLatch(1);
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            flushStartedLatch.countDown();
+            releaseLatch.await(10, TimeUnit.SECONDS);
+            flushedChanges.addAll(invocation.getArgument(0));
+            return null;
+        }).when(jsCodeRepository).applyStateChanges(Mockito.anyList());
+        JSCodeWriteBehindQueue writeBehindQueue = new JSCodeWriteBehindQueue(jsCodeRepository,
+                new JSWriteBehindProperties(16, 8, Duration.ofMillis(10), Duration.ofSeconds(1)),
+                new SimpleMeterRegistry());
+        // writer is busy with first flush, so both changes of js code are collected into next batch
+        writeBehindQueue.enqueue(JSCodeStateChange.ofStatus("other-js-code", JSCodeStatus.EXECUTING));
+        assertTrue(flushStartedLatch.await(10, TimeUnit.SECONDS));
+        writeBehindQueue.enqueue(JSCodeStateChange.ofStatus("js-code", JSCodeStatus.EXECUTING));
+        writeBehindQueue.enqueue(new JSCodeStateChange("js-code", JSCodeStatus.COMPLETED, 1L, 10L));
+        releaseLatch.countDown();
+        writeBehindQueue.shutdown();
+        List<JSCodeStateChange> jsCodeChanges = flushedChanges.stream()
+                .filter(stateChange -> "js-code".equals(stateChange.jsCodeId()))
+                .toList();
+        assertEquals(1, jsCodeChanges.size());
+        assertEquals(JSCodeStatus.COMPLETED, jsCodeChanges.get(0).statusCode());
+        // repository writes terminal status to planned document too, executing status was never flushed
+        assertEquals(JSCodeStatus.EXECUTING, jsCodeChanges.get(0).firstStatusCode());
+    }
+}
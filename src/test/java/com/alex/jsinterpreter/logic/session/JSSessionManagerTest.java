@@ -0,0 +1,119 @@
+package com.alex.jsinterpreter.logic.session;
+
+import com.alex.jsinterpreter.config.JSContextPoolProperties;
+import com.alex.jsinterpreter.document.JSCodeLimits;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import com.alex.jsinterpreter.domain.dto.JSSessionExecutionResponse;
+import com.alex.jsinterpreter.logic.admission.JSCodeRejectedException;
+import com.alex.jsinterpreter.repository.JSCodeOutputChunkRepository;
+import com.alex.jsinterpreter.repository.JSCodeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * class responsible for testing {@link JSSessionManager} class methods
+ *
+ * @author Oleksandr Myronenko
+ */
+@SpringBootTest(properties = {"spring.data.mongodb.auto-index-creation=false", "js-interpreter.session.max-sessions=2",
+        "js-interpreter.session.idle-timeout=1s", "js-interpreter.session.eviction-interval=100ms"})
+class JSSessionManagerTest {
+    private static final JSCodeLimits NO_LIMITS = new JSCodeLimits();
+    @Autowired
+    private JSSessionManager jsSessionManager;
+    @Autowired
+    private JSContextPoolProperties jsContextPoolProperties;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @MockBean
+    private JSCodeRepository jsCodeRepository;
+    @MockBean
+    private JSCodeOutputChunkRepository jsCodeOutputChunkRepository;
+
+    @Test
+    void stateIsKeptAcrossExecutionsInSessionTest() {
+        String sessionId = jsSessionManager.createSession().sessionId();
+        try {
+            jsSessionManager.executeInSession(sessionId, "const squares = new Map(); "
+                    + "for (let i = 0; i < 100; i++) { squares.set(i, i * i); }", NO_LIMITS);
+            JSSessionExecutionResponse response = jsSessionManager.executeInSession(sessionId,
+                    "console.log(squares.get(12))", NO_LIMITS);
+            assertEquals(JSCodeStatus.COMPLETED, response.statusCode());
+            assertEquals(List.of("144"), response.scriptResults());
+            JSSessionExecutionResponse failedResponse = jsSessionManager.executeInSession(sessionId,
+                    "undefinedFunction()", NO_LIMITS);
+            assertEquals(JSCodeStatus.FAILED, failedResponse.statusCode());
+            assertTrue(failedResponse.active());
+            assertEquals(3, jsSessionManager.getSession(sessionId).executionCount());
+        } finally {
+            jsSessionManager.closeSession(sessionId);
+        }
+        assertThrows(JSSessionNotFoundException.class, () -> jsSessionManager.getSession(sessionId));
+    }
+
+    @Test
+    void sessionDoesNotTakePooledContextTest() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (getIdleContexts() < jsContextPoolProperties.size() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        double dedicatedContexts = meterRegistry.get("js.context.pool.dedicated").counter().count();
+        String sessionId = jsSessionManager.createSession().sessionId();
+        try {
+            assertEquals(jsContextPoolProperties.size(), getIdleContexts());
+            assertEquals(dedicatedContexts + 1, meterRegistry.get("js.context.pool.dedicated").counter().count());
+        } finally {
+            jsSessionManager.closeSession(sessionId);
+        }
+    }
+
+    @Test
+    void timedOutExecutionClosesSessionTest() {
+        String sessionId = jsSessionManager.createSession().sessionId();
+        JSSessionExecutionResponse response = jsSessionManager.executeInSession(sessionId, "while (true) {}",
+                new JSCodeLimits(100L, null, null));
+        assertEquals(JSCodeStatus.TIMED_OUT, response.statusCode());
+        assertFalse(response.active());
+        assertThrows(JSSessionNotFoundException.class,
+                () -> jsSessionManager.executeInSession(sessionId, "console.log(1)", NO_LIMITS));
+    }
+
+    @Test
+    void countOfSessionsIsLimitedAndIdleSessionsAreEvictedTest() throws InterruptedException {
+        List<String> sessionIds = new ArrayList<>();
+        sessionIds.add(jsSessionManager.createSession().sessionId());
+        sessionIds.add(jsSessionManager.createSession().sessionId());
+        assertThrows(JSCodeRejectedException.class, () -> jsSessionManager.createSession());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!isEvicted(sessionIds) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(isEvicted(sessionIds));
+        jsSessionManager.closeSession(jsSessionManager.createSession().sessionId());
+    }
+
+    private boolean isEvicted(List<String> sessionIds) {
+        for (String sessionId : sessionIds) {
+            try {
+                jsSessionManager.getSession(sessionId);
+                return false;
+            } catch (JSSessionNotFoundException e) {
+                // session was evicted
+            }
+        }
+        return true;
+    }
+
+    private int getIdleContexts() {
+        return (int) meterRegistry.get("js.context.pool.idle").gauge().value();
+    }
+}
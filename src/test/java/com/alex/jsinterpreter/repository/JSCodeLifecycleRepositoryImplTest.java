@@ -0,0 +1,60 @@
+package com.alex.jsinterpreter.repository;
+
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * class responsible for testing {@link JSCodeLifecycleRepositoryImpl} class methods
+ *
+ * @author Oleksandr Myronenko
+ */
+class JSCodeLifecycleRepositoryImplTest {
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulkOperations = mock(BulkOperations.class);
+    private final JSCodeLifecycleRepositoryImpl repository = new JSCodeLifecycleRepositoryImpl(mongoTemplate);
+
+    @Test
+    void statusIsWrittenOnlyFromPreviousStatusTest() {
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(JSCode.class))).thenReturn(bulkOperations);
+        repository.applyStateChanges(List.of(JSCodeStateChange.ofStatus("executing-job", JSCodeStatus.EXECUTING),
+                new JSCodeStateChange("completed-job", JSCodeStatus.COMPLETED, 1L, 10L),
+                new JSCodeStateChange("phases-job", null, null, null)));
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(bulkOperations, times(3)).updateOne(queries.capture(), any(Update.class));
+        assertEquals(JSCodeStatus.PLANNED, queries.getAllValues().get(0).getQueryObject().get("statusCode"));
+        // stopped or failed js code is not overwritten by result of its execution
+        assertEquals(JSCodeStatus.EXECUTING, queries.getAllValues().get(1).getQueryObject().get("statusCode"));
+        assertFalse(queries.getAllValues().get(2).getQueryObject().containsKey("statusCode"));
+        verify(bulkOperations).execute();
+    }
+
+    @Test
+    void mergedStartAndResultAreWrittenFromPlannedOrExecutingTest() {
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(JSCode.class))).thenReturn(bulkOperations);
+        JSCodeStateChange mergedChange = JSCodeStateChange.ofStatus("merged-job", JSCodeStatus.EXECUTING)
+                .merge(new JSCodeStateChange("merged-job", JSCodeStatus.COMPLETED, 1L, 10L));
+        repository.applyStateChanges(List.of(mergedChange));
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(bulkOperations).updateOne(query.capture(), any(Update.class));
+        // executing status was never flushed, so terminal status must still match planned document
+        Document statusCriteria = (Document) query.getValue().getQueryObject().get("statusCode");
+        assertEquals(List.of(JSCodeStatus.PLANNED, JSCodeStatus.EXECUTING), statusCriteria.get("$in"));
+    }
+}
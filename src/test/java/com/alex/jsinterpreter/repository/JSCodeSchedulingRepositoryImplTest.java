@@ -0,0 +1,93 @@
+package com.alex.jsinterpreter.repository;
+
+import com.alex.jsinterpreter.document.JSCode;
+import com.alex.jsinterpreter.document.JSCodePriority;
+import com.alex.jsinterpreter.document.JSCodeStatus;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * class responsible for testing {@link JSCodeSchedulingRepositoryImpl} class methods
+ *
+ * @author Oleksandr Myronenko
+ */
+class JSCodeSchedulingRepositoryImplTest {
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final JSCodeSchedulingRepositoryImpl repository = new JSCodeSchedulingRepositoryImpl(mongoTemplate);
+    private final MappingMongoConverter converter = createConverter();
+
+    @Test
+    void polledJSCodeKeepsPriorityAndTenantTest() {
+        JSCode storedJSCode = new JSCode();
+        storedJSCode.setJsCodeId("js-code");
+        storedJSCode.setStatusCode(JSCodeStatus.PLANNED);
+        storedJSCode.setScriptBody("console.log(1)");
+        storedJSCode.setScheduledTime(Instant.now());
+        storedJSCode.setPriority(JSCodePriority.INTERACTIVE);
+        storedJSCode.setTenantId("tenant");
+        // database returns only projected fields of leased document
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(JSCode.class))).thenAnswer(invocation -> project(storedJSCode, invocation.getArgument(0)));
+        Optional<JSCode> leasedJSCode = repository.claimLease(Instant.now().plusSeconds(60), "node",
+                Instant.now().plusSeconds(30));
+        assertTrue(leasedJSCode.isPresent());
+        assertEquals("js-code", leasedJSCode.get().getJsCodeId());
+        assertEquals(JSCodePriority.INTERACTIVE, leasedJSCode.get().getPriority());
+        assertEquals("tenant", leasedJSCode.get().getTenantId());
+        assertNull(leasedJSCode.get().getScriptBody());
+    }
+
+    @Test
+    void onlyHeldLeasesAreRenewedTest() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(JSCode.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        assertEquals(0L, repository.renewLeases("node", List.of(), Instant.now()));
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(JSCode.class));
+        assertEquals(1L, repository.renewLeases("node", List.of("js-code"), Instant.now()));
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateMulti(query.capture(), any(Update.class), eq(JSCode.class));
+        assertEquals(new Document("$in", List.of("js-code")), query.getValue().getQueryObject().get("_id"));
+        assertEquals("node", query.getValue().getQueryObject().get("ownerNodeId"));
+    }
+
+    private static MappingMongoConverter createConverter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter mappingConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE,
+                mappingContext);
+        mappingConverter.setCustomConversions(conversions);
+        mappingConverter.afterPropertiesSet();
+        return mappingConverter;
+    }
+
+    private JSCode project(JSCode jsCode, Query query) {
+        Document document = new Document();
+        converter.write(jsCode, document);
+        Document fields = query.getFieldsObject();
+        document.keySet().removeIf(key -> !"_id".equals(key) && !fields.containsKey(key));
+        return converter.read(JSCode.class, document);
+    }
+}